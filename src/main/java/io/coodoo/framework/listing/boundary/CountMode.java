@@ -0,0 +1,48 @@
+package io.coodoo.framework.listing.boundary;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * How the total count of a listing result is determined
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public enum CountMode {
+
+    /**
+     * Counts every matching row (default)
+     */
+    EXACT,
+
+    /**
+     * Counts up to a limit, above that the count is just the limit and not exact
+     */
+    CAPPED,
+
+    /**
+     * Takes the estimated row count of the table from the database statistics if there is no filter, otherwise it is {@link #CAPPED}. The entity needs
+     * <code>@Table(name = "...")</code> to find its table in the statistics, without it the count is {@link #CAPPED} as well.
+     */
+    ESTIMATED,
+
+    /**
+     * No count at all
+     */
+    NONE;
+
+    /**
+     * @param value <code>exact</code>, <code>capped</code>, <code>capped(1000)</code>, <code>estimated</code> or <code>none</code> (case insensitive)
+     * @return the count mode or {@link #EXACT} if the value is unknown
+     */
+    public static CountMode of(String value) {
+        // a cap like in capped(1000) is not part of the name
+        String mode = StringUtils.trim(StringUtils.substringBefore(value, "("));
+        for (CountMode countMode : values()) {
+            if (countMode.name().equalsIgnoreCase(mode)) {
+                return countMode;
+            }
+        }
+        return EXACT;
+    }
+
+}
@@ -0,0 +1,48 @@
+package io.coodoo.framework.listing.boundary;
+
+/**
+ * Format of a listing export
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public enum ExportFormat {
+
+    /**
+     * Comma separated values with a header line containing the attribute names
+     */
+    CSV("text/csv"),
+
+    /**
+     * Newline delimited JSON, one object per line
+     */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    private ExportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * @return media type for the <code>Content-Type</code> header
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @param value <code>csv</code> or <code>ndjson</code> (case insensitive)
+     * @return the export format or {@link #CSV} if the value is unknown
+     */
+    public static ExportFormat of(String value) {
+        if (value != null) {
+            for (ExportFormat exportFormat : values()) {
+                if (exportFormat.name().equalsIgnoreCase(value.trim())) {
+                    return exportFormat;
+                }
+            }
+        }
+        return CSV;
+    }
+
+}
@@ -1,11 +1,44 @@
 package io.coodoo.framework.listing.boundary;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import javax.persistence.QueryTimeoutException;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 
+import io.coodoo.framework.listing.control.EntityListingDescriptor;
+import io.coodoo.framework.listing.control.ListingConfig;
+import io.coodoo.framework.listing.control.ListingExporter;
+import io.coodoo.framework.listing.control.ListingFilter;
+import io.coodoo.framework.listing.control.ListingFuture;
+import io.coodoo.framework.listing.control.ListingIterator;
+import io.coodoo.framework.listing.control.ListingPrefetch;
+import io.coodoo.framework.listing.control.ListingProjection;
+import io.coodoo.framework.listing.control.ListingPublisher;
 import io.coodoo.framework.listing.control.ListingQuery;
+import io.coodoo.framework.listing.control.ListingResultCache;
+import io.coodoo.framework.listing.control.ListingSingleFlight;
+import io.coodoo.framework.listing.control.ListingSort;
 
 /**
  * @author coodoo GmbH (coodoo.io)
@@ -14,6 +47,12 @@ public class Listing {
 
     /**
      * Gets the listing result
+     * <p>
+     * A read-only listing of an entity annotated with {@link io.coodoo.framework.listing.boundary.annotation.ListingCacheable} always returns detached
+     * entities, whether it was served by the cache or just got queried and cached (see {@link ListingResultCache}). Associations needed later on have to
+     * be fetched along (see {@link ListingParameters#setJoinFetch(String)}). The same goes for any read-only listing with
+     * {@link ListingConfig#SINGLE_FLIGHT}, as its entities may be shared with concurrent identical requests (see {@link ListingSingleFlight}).
+     * </p>
      * 
      * <h3>URL query parameters</h3>
      * <ul>
@@ -31,6 +70,8 @@ public class Listing {
      * <li><strong>limit</strong>: Amount of maximal expected results per request to fit on a page (default = 10)</li>
      * <li><strong>page</strong>: Current page (default = 1)</li>
      * <li><strong>index</strong>: Index (default = 0)</li>
+     * <li><strong>after</strong>: Cursor of the row after which the page starts, replaces page and index (keyset pagination)</li>
+     * <li><strong>before</strong>: Cursor of the row before which the page ends, replaces page and index (keyset pagination)</li>
      * </ul>
      * 
      * @param <T> type of target entity class
@@ -47,22 +88,337 @@ public class Listing {
      *         <li><strong>sort</strong>: Current order by this row (ascending except if it starts with "-" = descending)</li>
      *         <li><strong>startIndex</strong>: Index of the first result in this page (pagination)</li>
      *         <li><strong>endIndex</strong>: Index of the last result in this page (pagination)</li>
+     *         <li><strong>nextCursor</strong>: Cursor to get the following page (keyset pagination)</li>
+     *         <li><strong>prevCursor</strong>: Cursor to get the preceding page (keyset pagination)</li>
      *         </ul>
      */
     public static <T> ListingResult<T> getListingResult(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters) {
-        return new ListingResult<T>(
-                        // results
-                        getListing(entityManager, entityClass, parameters),
-                        // terms
-                        getTerms(entityManager, entityClass, parameters),
-                        // stats
-                        getStats(entityManager, entityClass, parameters),
-                        // metadata
-                        new Metadata(countListing(entityManager, entityClass, parameters), parameters));
+
+        // read-only listings of entities annotated with @ListingCacheable share the results of identical parameters
+        String cacheKey = ListingResultCache.key(entityClass, parameters);
+        ListingResult<T> result = ListingResultCache.get(entityClass, cacheKey);
+        if (result == null) {
+            // concurrent identical read-only requests share one execution, with the entities detached from this entity manager
+            result = ListingSingleFlight.runResult(entityClass, parameters, () -> Listing.<T, T> getResult(entityManager, entityClass, parameters, null),
+                            entities -> detach(entityManager, entities));
+            if (cacheKey != null) {
+                // a cached result outlives this entity manager, so its entities must not be managed by it. The caller gets them detached as well,
+                // just like everyone served by the cache later on.
+                detach(entityManager, result.getResults());
+                ListingResultCache.put(entityClass, cacheKey, result);
+            }
+        }
+        return result;
+    }
+
+    private static void detach(EntityManager entityManager, List<?> entities) {
+        for (Object entity : entities) {
+            if (entityManager.contains(entity)) {
+                entityManager.detach(entity);
+            }
+        }
+    }
+
+    private static <T, R> ListingResult<R> getResult(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters,
+                    ListingProjection projection) {
+
+        // the filter gets compiled once and is shared by all the queries
+        ListingFilter filter = ListingFilter.of(entityClass, parameters);
+
+        // without a count, the next page is known by selecting one row more
+        boolean probeNext = parameters.getCountMode() == CountMode.NONE;
+        Page<R> page = queryPage(entityManager, entityClass, parameters, filter, projection, isCountOver(parameters), probeNext);
+        if (isBeyondLast(page, parameters)) {
+            // the requested page is beyond the last one, so it goes straight to the count and the last page
+            page = getLastPage(entityManager, entityClass, parameters, filter, projection, probeNext, null);
+        }
+        // the total count came along with the rows of the page or the page got clamped, otherwise it gets counted now
+        TotalCount count = page.count != null ? new TotalCount(page.count, true) : getTotalCount(entityManager, entityClass, parameters, filter);
+        Map<String, List<Term>> terms = getTerms(entityManager, entityClass, parameters, filter);
+        Map<String, Stats> stats = getStats(entityManager, entityClass, parameters, filter);
+
+        return createListingResult(entityClass, parameters, page, terms, stats, count);
+    }
+
+    /**
+     * Gets the listing result, just like {@link #getListingResult(EntityManager, Class, ListingParameters)} but instead of running one query after another
+     * on the same entity manager, the list, the count, the terms and the stats get queried in parallel. Every one of those queries gets its own
+     * entity manager. The resulting entities are detached, since those entity managers get closed as soon as their query is done.
+     * <p>
+     * All queries together have to be done within {@link ListingConfig#PARALLEL_TIMEOUT}. A page beyond the last one needs one more query for the last
+     * page (and the count, if it doesn't come along with the page), which gets the same time again.
+     * </p>
+     * 
+     * @param <T> type of target entity class
+     * @param entityManagerFactory factory of the designated persistence unit to create an entity manager per query
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @param executor runs the queries, e.g. a <code>ManagedExecutorService</code> in a Java EE container
+     * @return a {@link ListingResult} object containing metadata and the resulting list of the target entity instances (sublist in case of pagination)
+     * @throws QueryTimeoutException if the queries didn't finish in time
+     */
+    public static <T> ListingResult<T> getListingResult(EntityManagerFactory entityManagerFactory, Class<T> entityClass, ListingParameters parameters,
+                    Executor executor) {
+
+        String cacheKey = ListingResultCache.key(entityClass, parameters);
+        ListingResult<T> result = ListingResultCache.get(entityClass, cacheKey);
+        if (result == null) {
+            // concurrent identical read-only requests share one execution, the entities are detached already
+            result = ListingSingleFlight.runResult(entityClass, parameters, () -> getParallelResult(entityManagerFactory, entityClass, parameters, executor),
+                            entities -> {});
+            ListingResultCache.put(entityClass, cacheKey, result);
+        }
+        return result;
+    }
+
+    private static <T> ListingResult<T> getParallelResult(EntityManagerFactory entityManagerFactory, Class<T> entityClass, ListingParameters parameters,
+                    Executor executor) {
+
+        // the filter gets compiled once and is shared by all the queries
+        ListingFilter filter = ListingFilter.of(entityClass, parameters);
+
+        boolean countOver = isCountOver(parameters);
+        boolean probeNext = parameters.getCountMode() == CountMode.NONE;
+
+        // every query gets parameters of its own, so they can't interfere with each other
+        ListingParameters pageParameters = parameters.copy();
+        ListingParameters countParameters = parameters.copy();
+        ListingParameters termsParameters = parameters.copy();
+        ListingParameters statsParameters = parameters.copy();
+
+        CompletableFuture<Page<T>> page = supply(entityManagerFactory, executor,
+                        em -> queryPage(em, entityClass, pageParameters, filter, null, countOver, probeNext));
+        // no count query at all if it comes along with the page or there is none to be done
+        CompletableFuture<TotalCount> count = countOver ? CompletableFuture.completedFuture(null)
+                        : probeNext ? CompletableFuture.completedFuture(new TotalCount(null, false))
+                                        : supply(entityManagerFactory, executor, em -> getTotalCount(em, entityClass, countParameters, filter));
+
+        // all the terms come from one grouped query
+        CompletableFuture<Map<String, List<Term>>> terms = parameters.getTermsAttributes() == null || parameters.getTermsAttributes().isEmpty()
+                        ? CompletableFuture.completedFuture(new HashMap<>())
+                        : supply(entityManagerFactory, executor, em -> getTerms(em, entityClass, termsParameters, filter));
+        // all the stats come from one aggregate query
+        CompletableFuture<Map<String, Stats>> stats = parameters.getStatsAttributes() == null || parameters.getStatsAttributes().isEmpty()
+                        ? CompletableFuture.completedFuture(new HashMap<>())
+                        : supply(entityManagerFactory, executor, em -> getStats(em, entityClass, statsParameters, filter));
+
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        futures.add(page);
+        futures.add(count);
+        futures.add(terms);
+        futures.add(stats);
+        await(futures);
+
+        Page<T> result = page.join();
+        TotalCount totalCount = result.count != null ? new TotalCount(result.count, true) : count.join();
+
+        if (isBeyondLast(result, parameters)) {
+            // the requested page is beyond the last one, it is only counted once more if the count didn't run yet
+            Long knownCount = totalCount != null && parameters.getCountMode() == CountMode.EXACT ? totalCount.value : null;
+            result = query(entityManagerFactory, executor, em -> getLastPage(em, entityClass, pageParameters, filter, null, probeNext, knownCount));
+            if (result.count != null) {
+                totalCount = new TotalCount(result.count, true);
+            }
+        }
+        if (totalCount == null) {
+            // an empty page has no row to read the total count from
+            totalCount = query(entityManagerFactory, executor, em -> getTotalCount(em, entityClass, countParameters, filter));
+        }
+        return createListingResult(entityClass, parameters, result, terms.join(), stats.join(), totalCount);
+    }
+
+    private static <R> R query(EntityManagerFactory entityManagerFactory, Executor executor, Function<EntityManager, R> query) {
+        CompletableFuture<R> future = supply(entityManagerFactory, executor, query);
+        await(Collections.<CompletableFuture<?>> singletonList(future));
+        return future.join();
+    }
+
+    private static <R> CompletableFuture<R> supply(EntityManagerFactory entityManagerFactory, Executor executor, Function<EntityManager, R> query) {
+        // a cancellation on timeout aborts the outstanding query
+        return ListingFuture.supply(entityManagerFactory, executor, query);
+    }
+
+    private static void await(List<CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get(ListingConfig.PARALLEL_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new QueryTimeoutException("Listing queries didn't finish within " + ListingConfig.PARALLEL_TIMEOUT + "ms");
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while waiting for listing queries", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PersistenceException(e.getCause());
+        }
+    }
+
+    /**
+     * Gets the listing result asynchronously, just like {@link #getListingResult(EntityManager, Class, ListingParameters)} but the queries run on the
+     * executor with an entity manager of their own, so the calling thread (e.g. of an asynchronous JAX-RS resource) doesn't wait for the database.
+     * <p>
+     * Cancelling the returned future aborts the outstanding query, see {@link ListingFuture}.
+     * </p>
+     * 
+     * @param <T> type of target entity class
+     * @param entityManagerFactory factory of the designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @param executor runs the queries, e.g. a <code>ManagedExecutorService</code> in a Java EE container or a virtual thread per task executor
+     * @return future of the {@link ListingResult}
+     */
+    public static <T> ListingFuture<ListingResult<T>> getListingResultAsync(EntityManagerFactory entityManagerFactory, Class<T> entityClass,
+                    ListingParameters parameters, Executor executor) {
+        return ListingFuture.supply(entityManagerFactory, executor, em -> getListingResult(em, entityClass, parameters));
+    }
+
+    /**
+     * Gets the listing asynchronously, see {@link #getListingResultAsync(EntityManagerFactory, Class, ListingParameters, Executor)}. The entities are
+     * detached, since their entity manager gets closed right after the query.
+     * 
+     * @param <T> type of target entity class
+     * @param entityManagerFactory factory of the designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @param executor runs the query
+     * @return future of the list of the target entity instances (sublist in case of pagination)
+     */
+    public static <T> ListingFuture<List<T>> getListingAsync(EntityManagerFactory entityManagerFactory, Class<T> entityClass,
+                    ListingParameters parameters, Executor executor) {
+        return ListingFuture.supply(entityManagerFactory, executor, em -> getListing(em, entityClass, parameters));
+    }
+
+    /**
+     * Counts the listing asynchronously, see {@link #getListingResultAsync(EntityManagerFactory, Class, ListingParameters, Executor)}
+     * 
+     * @param <T> type of target entity class
+     * @param entityManagerFactory factory of the designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @param executor runs the query
+     * @return future of the amount of matching results
+     */
+    public static <T> ListingFuture<Long> countListingAsync(EntityManagerFactory entityManagerFactory, Class<T> entityClass, ListingParameters parameters,
+                    Executor executor) {
+        return ListingFuture.supply(entityManagerFactory, executor, em -> countListing(em, entityClass, parameters));
+    }
+
+    /**
+     * Determines the total count as defined by {@link ListingParameters#getCountMode()}
+     */
+    private static <T> TotalCount getTotalCount(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, ListingFilter filter) {
+
+        switch (parameters.getCountMode()) {
+            case NONE:
+                return new TotalCount(null, false);
+            case ESTIMATED:
+                if (filter.isEmpty()) {
+                    Long estimate = new ListingQuery<>(entityManager, entityClass).estimate();
+                    if (estimate != null) {
+                        return new TotalCount(estimate, false);
+                    }
+                }
+                // table statistics know nothing about filters, so it gets capped
+            case CAPPED:
+                int cap = parameters.getCountCap();
+                long count = new ListingQuery<>(entityManager, entityClass).filterBy(filter).countCapped(cap);
+                return count > cap ? new TotalCount((long) cap, false) : new TotalCount(count, true);
+            default:
+                return new TotalCount(countListing(entityManager, entityClass, parameters, filter), true);
+        }
+    }
+
+    private static class TotalCount {
+
+        private final Long value;
+        private final boolean exact;
+
+        private TotalCount(Long value, boolean exact) {
+            this.value = value;
+            this.exact = exact;
+        }
+    }
+
+    private static <R> ListingResult<R> createListingResult(Class<?> entityClass, ListingParameters requested, Page<R> page,
+                    Map<String, List<Term>> terms, Map<String, Stats> stats, TotalCount count) {
+
+        // a clamped page comes with parameters of its own
+        ListingParameters parameters = page.parameters != null ? page.parameters : requested;
+        List<R> results = page.results;
+        Boolean hasMore = page.hasMore;
+
+        Metadata metadata = new Metadata(count.value, parameters);
+        metadata.setExact(count.exact);
+        metadata.setRequestedPage(page.requestedPage);
+
+        int limit = parameters.getLimit();
+        boolean fullPage = limit > 0 && results.size() >= limit;
+
+        if (parameters.getBefore() != null) {
+            // going backwards there is always the page we came from, and a full page may be preceded by another one
+            metadata.setHasNext(true);
+            metadata.setHasPrevious(hasMore != null ? hasMore : fullPage);
+
+        } else if (parameters.getAfter() != null) {
+            // going forward there is always the page we came from, and a full page may be followed by another one
+            metadata.setHasPrevious(true);
+            metadata.setHasNext(hasMore != null ? hasMore : fullPage);
+
+        } else {
+            metadata.setHasPrevious(parameters.getIndex() > 0);
+            if (hasMore != null) {
+                metadata.setHasNext(hasMore);
+            } else if (count.value != null && limit > 0) {
+                // a count that is not exact can't tell what is after a full page
+                metadata.setHasNext(parameters.getIndex() + results.size() < count.value || (!count.exact && fullPage));
+            } else {
+                metadata.setHasNext(fullPage);
+            }
+        }
+        if (!results.isEmpty() && limit > 0) {
+
+            ListingSort listingSort = ListingSort.of(entityClass, parameters.getSortAttribute());
+            if (metadata.getHasNext()) {
+                metadata.setNextCursor(listingSort.cursor(results.get(results.size() - 1)));
+            }
+            if (metadata.getHasPrevious()) {
+                metadata.setPrevCursor(listingSort.cursor(results.get(0)));
+            }
+        }
+        return new ListingResult<R>(results, terms, stats, metadata);
+    }
+
+    private static class Page<T> {
+
+        private final List<T> results;
+        private final Boolean hasMore;
+        private final Long count;
+        private final Integer requestedPage;
+        private final ListingParameters parameters;
+
+        private Page(List<T> results, Boolean hasMore) {
+            this(results, hasMore, null, null, null);
+        }
+
+        private Page(List<T> results, Boolean hasMore, Long count, Integer requestedPage, ListingParameters parameters) {
+            this.results = results;
+            this.hasMore = hasMore;
+            this.count = count;
+            this.requestedPage = requestedPage;
+            this.parameters = parameters;
+        }
     }
 
     /**
      * Gets the list of found instances
+     * <p>
+     * With {@link ListingConfig#PREFETCH} the next page of a read-only listing of an entity annotated with
+     * {@link io.coodoo.framework.listing.boundary.annotation.ListingCacheable} gets prefetched in the background, a prefetched page is served from memory
+     * (detached from the entity manager), see {@link ListingPrefetch}.
+     * </p>
      * 
      * @param <T> type of target entity class
      * @param entityManager entity manager of designated persistence unit
@@ -71,24 +427,303 @@ public class Listing {
      * @return generic list of found instances
      */
     public static <T> List<T> getListing(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters) {
-        List<T> list = new ListingQuery<>(entityManager, entityClass)
+
+        // a prefetched page comes from memory
+        String prefetchKey = ListingPrefetch.key(entityClass, parameters);
+        List<T> list = ListingPrefetch.get(entityClass, prefetchKey);
+        if (list == null) {
+            list = getListing(entityManager, entityClass, parameters, ListingFilter.of(entityClass, parameters));
+        }
+        if (prefetchKey != null && list.size() >= parameters.getLimit()) {
+            // a full page is likely to be followed by the next one
+            ListingPrefetch.prefetchNext(entityManager.getEntityManagerFactory(), entityClass, parameters,
+                            (em, next) -> getListing(em, entityClass, next, ListingFilter.of(entityClass, next)));
+        }
+        return list;
+    }
+
+    private static <T> List<T> getListing(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, ListingFilter filter) {
+        return Listing.<T, T> getPage(entityManager, entityClass, parameters, filter, null).results;
+    }
+
+    private static <T, R> Page<R> getPage(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, ListingFilter filter,
+                    ListingProjection projection) {
+
+        Page<R> page = queryPage(entityManager, entityClass, parameters, filter, projection, false, false);
+        if (isBeyondLast(page, parameters)) {
+            // the requested page is beyond the last one
+            return getLastPage(entityManager, entityClass, parameters, filter, projection, false, null);
+        }
+        return page;
+    }
+
+    /**
+     * @param countOver if <code>true</code>, the total count comes along with the rows of an offset page (see {@link ListingQuery#countOver()})
+     * @param probeNext if <code>true</code>, one row more gets selected to find out if there are more rows in the direction of reading
+     */
+    private static <T, R> Page<R> queryPage(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, ListingFilter filter,
+                    ListingProjection projection, boolean countOver, boolean probeNext) {
+
+        if (parameters.hasCursor()) {
+            boolean backwards = parameters.getAfter() == null;
+            ListingQuery<T> listingQuery = new ListingQuery<>(entityManager, entityClass)
+                            // apply sorting
+                            .sort(parameters.getSortAttribute())
+                            // filter on the whole table, specific columns and additional filters
+                            .filterBy(filter)
+                            // keyset pagination: only rows after (or before) the cursor, so there is no offset to skip
+                            .seek(backwards ? parameters.getBefore() : parameters.getAfter(), backwards)
+                            // all the entity or just some attributes
+                            .project(projection)
+                            // without snapshots for dirty checking
+                            .readOnly(parameters.isReadOnly())
+                            // associations to load along with the entities
+                            .joinFetch(parameters.getJoinFetch()).entityGraph(parameters.getEntityGraph());
+            if (probeNext) {
+                listingQuery.probeNext();
+            }
+            // get the matching entries from the start
+            List<R> list = listingQuery.listProjection(null, parameters.getLimit());
+
+            if (backwards) {
+                // the order was reversed to seek backwards
+                Collections.reverse(list);
+            }
+            return new Page<>(list, listingQuery.hasMore());
+        }
+        return getOffsetPage(entityManager, entityClass, parameters, filter, projection, countOver, probeNext);
+    }
+
+    private static boolean isCountOver(ListingParameters parameters) {
+        return ListingConfig.COUNT_WINDOW_FUNCTION != null && parameters.getCountMode() == CountMode.EXACT && !parameters.hasCursor();
+    }
+
+    private static boolean isBeyondLast(Page<?> page, ListingParameters parameters) {
+        return page.results.isEmpty() && !parameters.hasCursor() && parameters.getPage() > 1 && ListingConfig.CLAMP_PAGE;
+    }
+
+    /**
+     * Gets the last page instead of the requested one beyond it. The parameters stay as they are, the page comes with a copy pointing to the last page.
+     * 
+     * @param count exact count of all matching rows or <code>null</code> to count them, if the count mode allows it
+     */
+    private static <T, R> Page<R> getLastPage(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, ListingFilter filter,
+                    ListingProjection projection, boolean probeNext, Long count) {
+
+        if (count == null) {
+            if (parameters.getCountMode() != CountMode.EXACT) {
+                // counting all the rows is just what the count mode avoids, so there is no telling which page is the last one
+                return new Page<>(new ArrayList<>(), false);
+            }
+            count = countListing(entityManager, entityClass, parameters, filter);
+        }
+        int limit = parameters.getLimit();
+        int lastPage = count > 0 && limit > 0 ? (int) Math.min((count + limit - 1) / limit, Integer.MAX_VALUE) : 1;
+
+        ListingParameters lastPageParameters = parameters.copy();
+        lastPageParameters.setIndex(null);
+        lastPageParameters.setPage(lastPage);
+
+        Page<R> page = count > 0 ? getOffsetPage(entityManager, entityClass, lastPageParameters, filter, projection, false, probeNext)
+                        : new Page<>(new ArrayList<>(), false);
+        return new Page<>(page.results, page.hasMore, count, parameters.getPage(), lastPageParameters);
+    }
+
+    private static <T, R> Page<R> getOffsetPage(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, ListingFilter filter,
+                    ListingProjection projection, boolean countOver, boolean probeNext) {
+
+        ListingQuery<T> listingQuery = new ListingQuery<>(entityManager, entityClass)
                         // apply sorting
                         .sort(parameters.getSortAttribute())
-                        // disjunctive filter on the whole table
-                        .filterAllAttributes(parameters.getFilter())
-                        // column specific conjunctive filter
-                        .filterByAttributes(parameters.getFilterAttributes())
-                        // additional filters
-                        .filterByPredicate(parameters.getPredicate())
-                        // get all matching entries in the given range
-                        .list(parameters.getIndex(), parameters.getLimit());
-
-        if (list.isEmpty() && parameters.getPage() > 1) {
-            // Reducing the page number in case less results are found to prevent empty pages
-            parameters.setPage(parameters.getPage() - 1);
-            return getListing(entityManager, entityClass, parameters);
+                        // filter on the whole table, specific columns and additional filters
+                        .filterBy(filter)
+                        // all the entity or just some attributes
+                        .project(projection)
+                        // without snapshots for dirty checking
+                        .readOnly(parameters.isReadOnly())
+                        // associations to load along with the entities
+                        .joinFetch(parameters.getJoinFetch()).entityGraph(parameters.getEntityGraph());
+        if (countOver) {
+            // the total count comes along with the rows of the page
+            listingQuery.countOver();
         }
-        return list;
+        if (probeNext) {
+            listingQuery.probeNext();
+        }
+        // get all matching entries in the given range
+        List<R> list = listingQuery.listProjection(parameters.getIndex(), parameters.getLimit());
+
+        return new Page<>(list, listingQuery.hasMore(), listingQuery.getTotalCount(), null, null);
+    }
+
+    /**
+     * Gets the listing result of just the attributes given in {@link ListingParameters#getFields()} (all columns if there are none) instead of whole
+     * entities. Every result is a map of attribute names and values, no entity gets instantiated and managed by the entity manager.
+     * <p>
+     * Cursors for keyset pagination are only available if the fields contain the sort attributes and the identifier.
+     * </p>
+     * 
+     * @param <T> type of target entity class
+     * @param entityManager entity manager of designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @return a {@link ListingResult} object containing metadata and the resulting list of maps (sublist in case of pagination)
+     */
+    public static <T> ListingResult<Map<String, Object>> getProjectionResult(EntityManager entityManager, Class<T> entityClass,
+                    ListingParameters parameters) {
+        return getResult(entityManager, entityClass, parameters, ListingProjection.of(entityClass, parameters.getFields(), null));
+    }
+
+    /**
+     * Gets the listing result of just the attributes given in {@link ListingParameters#getFields()} instead of whole entities. The values of those
+     * attributes get passed to a constructor of the result class in the same order, no entity gets instantiated and managed by the entity manager.
+     * 
+     * @param <T> type of target entity class
+     * @param <R> type of the result class
+     * @param entityManager entity manager of designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @param resultClass class with a public constructor taking the values of the fields
+     * @return a {@link ListingResult} object containing metadata and the resulting list of result class instances (sublist in case of pagination)
+     * @throws IllegalArgumentException if there is no matching constructor in the result class
+     */
+    public static <T, R> ListingResult<R> getProjectionResult(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters,
+                    Class<R> resultClass) {
+        return getResult(entityManager, entityClass, parameters, ListingProjection.of(entityClass, parameters.getFields(), resultClass));
+    }
+
+    /**
+     * Gets the list of just the attributes given in {@link ListingParameters#getFields()} (all columns if there are none) instead of whole entities
+     * 
+     * @param <T> type of target entity class
+     * @param entityManager entity manager of designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @return list of maps of attribute names and values
+     */
+    public static <T> List<Map<String, Object>> getProjection(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters) {
+        ListingProjection projection = ListingProjection.of(entityClass, parameters.getFields(), null);
+        return Listing.<T, Map<String, Object>> getPage(entityManager, entityClass, parameters, ListingFilter.of(entityClass, parameters), projection).results;
+    }
+
+    /**
+     * Gets the list of just the attributes given in {@link ListingParameters#getFields()} as instances of the result class
+     * 
+     * @param <T> type of target entity class
+     * @param <R> type of the result class
+     * @param entityManager entity manager of designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @param resultClass class with a public constructor taking the values of the fields
+     * @return list of result class instances
+     * @throws IllegalArgumentException if there is no matching constructor in the result class
+     */
+    public static <T, R> List<R> getProjection(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, Class<R> resultClass) {
+        ListingProjection projection = ListingProjection.of(entityClass, parameters.getFields(), resultClass);
+        return Listing.<T, R> getPage(entityManager, entityClass, parameters, ListingFilter.of(entityClass, parameters), projection).results;
+    }
+
+    /**
+     * Streams all the found instances in sort order, without keeping them all in memory. The rows get selected in batches of
+     * {@link ListingConfig#STREAM_BATCH_SIZE} (by keyset pagination if possible) and the entities of a batch get detached from the entity manager as soon
+     * as the next batch is selected. Pagination parameters (page, index, limit and cursors) are ignored.
+     * <p>
+     * The entity manager has to stay open until the stream is consumed. Closing the stream detaches the entities of the current batch.
+     * </p>
+     * 
+     * @param <T> type of target entity class
+     * @param entityManager entity manager of designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @return lazy stream of found instances
+     */
+    public static <T> Stream<T> stream(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters) {
+
+        ListingIterator<T> iterator = new ListingIterator<>(entityManager, entityClass, ListingFilter.of(entityClass, parameters),
+                        parameters.getSortAttribute(), ListingConfig.STREAM_BATCH_SIZE);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                        .onClose(iterator::close);
+    }
+
+    /**
+     * Publishes all the found instances in sort order to subscribers as they request them. Just like
+     * {@link #stream(EntityManager, Class, ListingParameters)} the rows get selected in batches of {@link ListingConfig#STREAM_BATCH_SIZE}, but only when
+     * a subscriber has requested more rows, so a slow subscriber never forces the whole result into memory. Every subscription uses an entity manager of
+     * its own, which gets closed when the subscription completes or is cancelled. Pagination parameters are ignored.
+     * 
+     * @param <T> type of target entity class
+     * @param entityManagerFactory factory of the designated persistence unit to create an entity manager per subscription
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @param executor delivers the rows to the subscribers
+     * @return publisher of found instances
+     */
+    public static <T> ListingPublisher<T> publish(EntityManagerFactory entityManagerFactory, Class<T> entityClass, ListingParameters parameters,
+                    Executor executor) {
+        return new ListingPublisher<>(entityManagerFactory, entityClass, ListingFilter.of(entityClass, parameters), parameters.getSortAttribute(),
+                        ListingConfig.STREAM_BATCH_SIZE, executor);
+    }
+
+    /**
+     * Exports all the found instances in sort order as CSV or NDJSON. Just like {@link #stream(EntityManager, Class, ListingParameters)} the rows get
+     * selected in batches (by offset if a sort attribute is nullable, see {@link ListingIterator}), every batch gets flushed to the output right away, so
+     * memory stays flat no matter how many rows there are.
+     * <p>
+     * The export runs when the returned output gets written, so the entity manager has to stay open until then. Within a JAX-RS resource use
+     * {@link #export(EntityManagerFactory, Class, ListingParameters, ExportFormat, String...)} instead.
+     * </p>
+     * 
+     * @param <T> type of target entity class
+     * @param entityManager entity manager of designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @param format CSV or NDJSON
+     * @param attributes names of the attributes to export in this order, all the basic and embedded columns if there are none
+     * @return output to be returned by a JAX-RS resource (media type {@link ExportFormat#getMediaType()})
+     */
+    public static <T> StreamingOutput export(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, ExportFormat format,
+                    String... attributes) {
+
+        ListingFilter filter = ListingFilter.of(entityClass, parameters);
+        ListingExporter exporter = new ListingExporter(entityClass, format, attributes);
+
+        return output -> {
+            try (ListingIterator<T> iterator = new ListingIterator<>(entityManager, entityClass, filter, parameters.getSortAttribute(),
+                            ListingConfig.STREAM_BATCH_SIZE)) {
+                exporter.write(iterator, output);
+            }
+        };
+    }
+
+    /**
+     * Exports all the found instances in sort order as CSV or NDJSON, just like
+     * {@link #export(EntityManager, Class, ListingParameters, ExportFormat, String...)} but on an own entity manager that lives as long as the export is
+     * written.
+     * 
+     * @param <T> type of target entity class
+     * @param entityManagerFactory creates the entity manager for the export
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @param format CSV or NDJSON
+     * @param attributes names of the attributes to export in this order, all the basic and embedded columns if there are none
+     * @return output to be returned by a JAX-RS resource (media type {@link ExportFormat#getMediaType()})
+     */
+    public static <T> StreamingOutput export(EntityManagerFactory entityManagerFactory, Class<T> entityClass, ListingParameters parameters,
+                    ExportFormat format, String... attributes) {
+
+        ListingFilter filter = ListingFilter.of(entityClass, parameters);
+        ListingExporter exporter = new ListingExporter(entityClass, format, attributes);
+
+        return output -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try (ListingIterator<T> iterator = new ListingIterator<>(entityManager, entityClass, filter, parameters.getSortAttribute(),
+                            ListingConfig.STREAM_BATCH_SIZE)) {
+                exporter.write(iterator, output);
+            } finally {
+                entityManager.close();
+            }
+        };
     }
 
     /**
@@ -101,15 +736,72 @@ public class Listing {
      * @return the amount of found instances
      */
     public static <T> Long countListing(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters) {
+        return countListing(entityManager, entityClass, parameters, ListingFilter.of(entityClass, parameters));
+    }
+
+    private static <T> Long countListing(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, ListingFilter filter) {
+
+        // all pages of the same filter share the count
+        String cacheKey = ListingResultCache.countKey(entityClass, parameters);
+        Long count = ListingResultCache.get(entityClass, cacheKey);
+        if (count == null) {
+            count = new ListingQuery<>(entityManager, entityClass)
+                            // filter on the whole table, specific columns and additional filters
+                            .filterBy(filter)
+                            // count all matching entries
+                            .count();
+            ListingResultCache.putCount(entityClass, cacheKey, count);
+        }
+        return count;
+    }
+
+    /**
+     * Gets a version of the listing that changes as soon as one of the matching rows changes, by one cheap aggregate query (see
+     * {@link ListingQuery#fingerprint()}). It can be used as entity tag (ETag) to answer conditional requests without querying the listing, see
+     * {@link #getListingResponse(EntityManager, Class, ListingParameters, Request)}.
+     * 
+     * @param <T> type of target entity class
+     * @param entityManager entity manager of designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @return version of the matching rows
+     */
+    public static <T> String getVersion(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters) {
         return new ListingQuery<>(entityManager, entityClass)
-                        // disjunctive filter on the whole table
-                        .filterAllAttributes(parameters.getFilter())
-                        // column specific conjunctive filter
-                        .filterByAttributes(parameters.getFilterAttributes())
-                        // additional filters
-                        .filterByPredicate(parameters.getPredicate())
-                        // count all matching entries
-                        .count();
+                        // filter on the whole table, specific columns and additional filters
+                        .filterBy(ListingFilter.of(entityClass, parameters))
+                        // count, ids and version of all matching entries
+                        .fingerprint();
+    }
+
+    /**
+     * Answers a conditional request: if the <code>If-None-Match</code> header of the request matches the version of the listing (see
+     * {@link #getVersion(EntityManager, Class, ListingParameters)}), the response is <code>304 Not Modified</code> without querying the listing at all.
+     * Otherwise it contains the listing result and the version as (weak) ETag.
+     * <p>
+     * Only an entity with a version field (see {@link io.coodoo.framework.listing.boundary.annotation.ListingVersion}) tells about changes within a row,
+     * so without one there is no ETag and the response always contains the listing result.
+     * </p>
+     * 
+     * @param <T> type of target entity class
+     * @param entityManager entity manager of designated persistence unit
+     * @param entityClass target entity class
+     * @param parameters defines the listing queue. It contains optional query parameters as described above
+     * @param request JAX-RS request (<code>@Context Request request</code>) to evaluate the preconditions
+     * @return response with the listing result or <code>304 Not Modified</code>
+     */
+    public static <T> Response getListingResponse(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, Request request) {
+
+        if (EntityListingDescriptor.of(entityClass).getVersionField() == null) {
+            // an update in place wouldn't change the version, so it would answer 304 with stale data
+            return Response.ok(getListingResult(entityManager, entityClass, parameters)).build();
+        }
+        EntityTag entityTag = new EntityTag(getVersion(entityManager, entityClass, parameters), true);
+        ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(getListingResult(entityManager, entityClass, parameters)).tag(entityTag).build();
     }
 
     /**
@@ -122,13 +814,18 @@ public class Listing {
      * @return an map of terms as defined
      */
     public static <T> Map<String, List<Term>> getTerms(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters) {
+        return ListingSingleFlight.run("terms", entityClass, parameters,
+                        () -> getTerms(entityManager, entityClass, parameters, ListingFilter.of(entityClass, parameters)));
+    }
+
+    private static <T> Map<String, List<Term>> getTerms(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, ListingFilter filter) {
+        if (parameters.isFacets()) {
+            // every terms attribute without its own filter
+            return new ListingQuery<>(entityManager, entityClass).getFacetsMap(filter, parameters.getTermsAttributes());
+        }
         return new ListingQuery<>(entityManager, entityClass)
-                        // disjunctive filter on the whole table
-                        .filterAllAttributes(parameters.getFilter())
-                        // column specific conjunctive filter
-                        .filterByAttributes(parameters.getFilterAttributes())
-                        // additional filters
-                        .filterByPredicate(parameters.getPredicate())
+                        // filter on the whole table, specific columns and additional filters
+                        .filterBy(filter)
                         // terminator
                         .getTermsMap(parameters.getTermsAttributes());
     }
@@ -143,13 +840,14 @@ public class Listing {
      * @return an map of stats as defined
      */
     public static <T> Map<String, Stats> getStats(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters) {
+        return ListingSingleFlight.run("stats", entityClass, parameters,
+                        () -> getStats(entityManager, entityClass, parameters, ListingFilter.of(entityClass, parameters)));
+    }
+
+    private static <T> Map<String, Stats> getStats(EntityManager entityManager, Class<T> entityClass, ListingParameters parameters, ListingFilter filter) {
         return new ListingQuery<>(entityManager, entityClass)
-                        // disjunctive filter on the whole table
-                        .filterAllAttributes(parameters.getFilter())
-                        // column specific conjunctive filter
-                        .filterByAttributes(parameters.getFilterAttributes())
-                        // additional filters
-                        .filterByPredicate(parameters.getPredicate())
+                        // filter on the whole table, specific columns and additional filters
+                        .filterBy(filter)
                         // statistics
                         .getStatsMap(parameters.getStatsAttributes());
     }
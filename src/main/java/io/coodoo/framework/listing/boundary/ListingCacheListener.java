@@ -0,0 +1,31 @@
+package io.coodoo.framework.listing.boundary;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import io.coodoo.framework.listing.control.ListingResultCache;
+
+/**
+ * Entity listener that drops the cached listing results of an entity class as soon as one of its entities gets persisted, updated or removed. Add it to
+ * an entity annotated with {@link io.coodoo.framework.listing.boundary.annotation.ListingCacheable}:
+ * 
+ * <pre>
+ * &#64;Entity
+ * &#64;ListingCacheable
+ * &#64;EntityListeners(ListingCacheListener.class)
+ * public class Car {
+ * </pre>
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public class ListingCacheListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Object entity) {
+        ListingResultCache.invalidate(entity.getClass());
+    }
+
+}
@@ -38,6 +38,21 @@ public class ListingParameters {
     @QueryParam("filter")
     private String filter;
 
+    @QueryParam("after")
+    private String after;
+
+    @QueryParam("before")
+    private String before;
+
+    @QueryParam("count")
+    private String count;
+
+    @QueryParam("facets")
+    private boolean facets;
+
+    @QueryParam("fields")
+    private String fields;
+
     private Map<String, String> filterAttributes = new HashMap<>();
 
     private Map<String, String> termsAttributes = new HashMap<>();
@@ -46,6 +61,12 @@ public class ListingParameters {
 
     private ListingPredicate predicate;
 
+    private Boolean readOnly;
+
+    private String joinFetch;
+
+    private String entityGraph;
+
     @Context
     private UriInfo uriInfo;
 
@@ -170,6 +191,89 @@ public class ListingParameters {
         this.filter = filter;
     }
 
+    /**
+     * @return cursor of the row after which the page starts (keyset pagination, see {@link Metadata#getNextCursor()})
+     */
+    public String getAfter() {
+        return StringUtils.trimToNull(after);
+    }
+
+    /**
+     * @param after cursor of the row after which the page starts (keyset pagination, see {@link Metadata#getNextCursor()})
+     */
+    public void setAfter(String after) {
+        this.after = after;
+    }
+
+    /**
+     * @return cursor of the row before which the page ends (keyset pagination, see {@link Metadata#getPrevCursor()})
+     */
+    public String getBefore() {
+        return StringUtils.trimToNull(before);
+    }
+
+    /**
+     * @param before cursor of the row before which the page ends (keyset pagination, see {@link Metadata#getPrevCursor()})
+     */
+    public void setBefore(String before) {
+        this.before = before;
+    }
+
+    /**
+     * @return <code>true</code> if a cursor is given, so keyset pagination is used instead of index and page
+     */
+    public boolean hasCursor() {
+        return getAfter() != null || getBefore() != null;
+    }
+
+    /**
+     * @return how the total count gets determined, default is {@link CountMode#EXACT}
+     */
+    public CountMode getCountMode() {
+        return CountMode.of(count);
+    }
+
+    /**
+     * @return limit for {@link CountMode#CAPPED}, given like <code>capped(500)</code> or {@link ListingConfig#COUNT_CAP} as default
+     */
+    public int getCountCap() {
+        String cap = StringUtils.trimToNull(StringUtils.substringBetween(count, "(", ")"));
+        if (cap != null) {
+            try {
+                int value = Integer.parseInt(cap);
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+            }
+        }
+        return ListingConfig.COUNT_CAP;
+    }
+
+    /**
+     * @param count how the total count gets determined: <code>exact</code> (default), <code>capped</code>, <code>capped(N)</code>,
+     *        <code>estimated</code> or <code>none</code>
+     */
+    public void setCount(String count) {
+        this.count = count;
+    }
+
+    /**
+     * @param countMode how the total count gets determined
+     */
+    public void setCountMode(CountMode countMode) {
+        this.count = countMode == null ? null : countMode.name();
+    }
+
+    /**
+     * Sets the count mode to {@link CountMode#CAPPED}
+     * 
+     * @param cap limit up to which the rows get counted
+     */
+    public void setCountCap(int cap) {
+        this.count = CountMode.CAPPED.name() + "(" + cap + ")";
+    }
+
     /**
      * Adds a filter to a specific attribute
      * <p>
@@ -285,6 +389,81 @@ public class ListingParameters {
         this.filterAttributes = filterAttributes;
     }
 
+    /**
+     * @return <code>true</code> if the entities get loaded read-only, by default {@link ListingConfig#READ_ONLY}
+     */
+    public boolean isReadOnly() {
+        return readOnly != null ? readOnly : ListingConfig.READ_ONLY;
+    }
+
+    /**
+     * @param readOnly <code>true</code> to load the entities read-only, without snapshots for dirty checking. <code>null</code> takes
+     *        {@link ListingConfig#READ_ONLY}.
+     */
+    public void setReadOnly(Boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * @return names of the attributes (separated by "," or ";") to select instead of whole entities, see
+     *         {@link Listing#getProjectionResult(javax.persistence.EntityManager, Class, ListingParameters)}
+     */
+    public String getFields() {
+        return fields;
+    }
+
+    /**
+     * @param fields names of the attributes (separated by "," or ";") to select instead of whole entities
+     */
+    public void setFields(String fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @return names of the associations (separated by "," or ";") that get loaded along with the entities by a fetch join
+     */
+    public String getJoinFetch() {
+        return joinFetch;
+    }
+
+    /**
+     * @param joinFetch names of the single-valued associations (separated by "," or ";", nested ones by ".") to load along with the entities by a fetch
+     *        join, see {@link io.coodoo.framework.listing.control.ListingQuery#joinFetch(String)}
+     */
+    public void setJoinFetch(String joinFetch) {
+        this.joinFetch = joinFetch;
+    }
+
+    /**
+     * @return name of the entity graph the entities get loaded by
+     */
+    public String getEntityGraph() {
+        return entityGraph;
+    }
+
+    /**
+     * @param entityGraph name of an entity graph (<code>@NamedEntityGraph</code>) to load the entities by, see
+     *        {@link io.coodoo.framework.listing.control.ListingQuery#entityGraph(String)}
+     */
+    public void setEntityGraph(String entityGraph) {
+        this.entityGraph = entityGraph;
+    }
+
+    /**
+     * @return <code>true</code> if every terms attribute gets counted without its own filter attribute (faceting)
+     */
+    public boolean isFacets() {
+        return facets;
+    }
+
+    /**
+     * @param facets if <code>true</code>, every terms attribute gets counted without its own filter attribute, so it still offers all its values after
+     *        one got chosen as filter
+     */
+    public void setFacets(boolean facets) {
+        this.facets = facets;
+    }
+
     /**
      * @return Map of attribute specific aggregations
      */
@@ -363,4 +542,30 @@ public class ListingParameters {
         this.uriInfo = uriInfo;
     }
 
+    /**
+     * @return copy of these parameters that can be changed without affecting them
+     */
+    public ListingParameters copy() {
+        ListingParameters copy = new ListingParameters(page, limit, sortAttribute);
+        copy.index = index;
+        copy.filter = filter;
+        copy.after = after;
+        copy.before = before;
+        copy.count = count;
+        copy.facets = facets;
+        copy.fields = fields;
+        copy.filterAttributes = copyOf(getFilterAttributes());
+        copy.termsAttributes = copyOf(getTermsAttributes());
+        copy.statsAttributes = copyOf(getStatsAttributes());
+        copy.predicate = predicate;
+        copy.readOnly = readOnly;
+        copy.joinFetch = joinFetch;
+        copy.entityGraph = entityGraph;
+        return copy;
+    }
+
+    private static Map<String, String> copyOf(Map<String, String> attributes) {
+        return attributes == null ? null : new HashMap<>(attributes);
+    }
+
 }
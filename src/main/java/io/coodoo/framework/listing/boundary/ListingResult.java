@@ -1,5 +1,6 @@
 package io.coodoo.framework.listing.boundary;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +64,35 @@ public class ListingResult<T> {
         this.stats = stats;
     }
 
+    /**
+     * @return copy of this result with its own list, metadata, terms and stats that can be changed without affecting it. The entities are not copied,
+     *         both results contain the same instances.
+     */
+    public ListingResult<T> copy() {
+        Map<String, List<Term>> termsCopy = null;
+        if (terms != null) {
+            termsCopy = new HashMap<>();
+            for (Map.Entry<String, List<Term>> entry : terms.entrySet()) {
+                List<Term> termList = null;
+                if (entry.getValue() != null) {
+                    termList = new ArrayList<>();
+                    for (Term term : entry.getValue()) {
+                        termList.add(term == null ? null : term.copy());
+                    }
+                }
+                termsCopy.put(entry.getKey(), termList);
+            }
+        }
+        Map<String, Stats> statsCopy = null;
+        if (stats != null) {
+            statsCopy = new HashMap<>();
+            for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+                statsCopy.put(entry.getKey(), entry.getValue() == null ? null : entry.getValue().copy());
+            }
+        }
+        return new ListingResult<>(results == null ? null : new ArrayList<>(results), termsCopy, statsCopy, metadata == null ? null : metadata.copy());
+    }
+
     @Override
     public String toString() {
         return "ListingResult [metadata=" + metadata + ", results=" + results + ", terms=" + terms + ", stats=" + stats + "]";
@@ -5,24 +5,37 @@ package io.coodoo.framework.listing.boundary;
  * 
  * <br>
  * <code>count</code>: Count of the whole list <br>
+ * <code>exact</code>: <code>false</code> if the count is just an estimation or a lower bound (see {@link CountMode}) <br>
  * <code>currentPage</code>: Current page as a sublist with the length of <code>limit</code> <br>
+ * <code>requestedPage</code>: Requested page if it was beyond the last page and the last page was delivered instead (see
+ * {@link io.coodoo.framework.listing.control.ListingConfig#CLAMP_PAGE})<br>
  * <code>numPages</code>: Number of pages <br>
  * <code>limit</code>: List elements per page <br>
  * <code>sort</code>: Name of the attribute, the result is sorter by (ascending by default, starts with "-" for descending)<br>
  * <code>startIndex</code>: Index of the first result for the current page<br>
  * <code>endIndex</code>: Index of the last result for the current page<br>
+ * <code>hasNext</code>: <code>true</code> if there is a following page<br>
+ * <code>hasPrevious</code>: <code>true</code> if there is a preceding page<br>
+ * <code>nextCursor</code>: Cursor to get the following page by keyset pagination (<code>after</code>)<br>
+ * <code>prevCursor</code>: Cursor to get the preceding page by keyset pagination (<code>before</code>)<br>
  * 
  * @author coodoo GmbH (coodoo.io)
  */
 public class Metadata {
 
     private Long count;
+    private boolean exact = true;
     private Integer currentPage;
+    private Integer requestedPage;
     private Integer numPages;
     private Integer limit;
     private String sort;
     private Integer startIndex;
     private Integer endIndex;
+    private Boolean hasNext;
+    private Boolean hasPrevious;
+    private String nextCursor;
+    private String prevCursor;
 
     public Metadata(Long count, ListingParameters listingParameters) {
         this(count, listingParameters.getPage(), listingParameters.getLimit(), listingParameters.getSortAttribute());
@@ -50,7 +63,7 @@ public class Metadata {
             this.limit = 0;
             this.numPages = 1;
             this.startIndex = 1;
-            this.endIndex = count.intValue();
+            this.endIndex = toInteger(count);
 
         } else {
 
@@ -58,19 +71,23 @@ public class Metadata {
             if (count < limit) {
                 this.numPages = 1;
             } else {
-                this.numPages = count.intValue() / limit + (count.intValue() % limit != 0 ? 1 : 0);
+                this.numPages = toInteger(count / limit + (count % limit != 0 ? 1 : 0));
             }
             if (currentPage == null) {
                 this.currentPage = 1;
             }
-            this.startIndex = (limit * this.currentPage) - limit + 1;
-            this.endIndex = limit * this.currentPage;
-            if (endIndex > count) {
-                this.endIndex = count.intValue();
-            }
+            // calculated as long, as there may be more rows than an integer can count
+            long start = (long) limit * this.currentPage - limit + 1;
+            long end = Math.min((long) limit * this.currentPage, count);
+            this.startIndex = toInteger(start);
+            this.endIndex = toInteger(end);
         }
     }
 
+    private static Integer toInteger(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
     public Long getCount() {
         return count;
     }
@@ -79,6 +96,17 @@ public class Metadata {
         this.count = count;
     }
 
+    /**
+     * @return <code>false</code> if the count is just an estimation or a lower bound (see {@link CountMode})
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    public void setExact(boolean exact) {
+        this.exact = exact;
+    }
+
     public Integer getCurrentPage() {
         return currentPage;
     }
@@ -87,6 +115,17 @@ public class Metadata {
         this.currentPage = currentPage;
     }
 
+    /**
+     * @return requested page if it was beyond the last page and the last page was delivered instead, otherwise <code>null</code>
+     */
+    public Integer getRequestedPage() {
+        return requestedPage;
+    }
+
+    public void setRequestedPage(Integer requestedPage) {
+        this.requestedPage = requestedPage;
+    }
+
     public Integer getNumPages() {
         return numPages;
     }
@@ -127,10 +166,62 @@ public class Metadata {
         this.endIndex = endIndex;
     }
 
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(Boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public Boolean getHasPrevious() {
+        return hasPrevious;
+    }
+
+    public void setHasPrevious(Boolean hasPrevious) {
+        this.hasPrevious = hasPrevious;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    public void setPrevCursor(String prevCursor) {
+        this.prevCursor = prevCursor;
+    }
+
+    /**
+     * @return copy of this metadata that can be changed without affecting it
+     */
+    public Metadata copy() {
+        Metadata copy = new Metadata(count, currentPage, limit, sort);
+        copy.exact = exact;
+        copy.currentPage = currentPage;
+        copy.requestedPage = requestedPage;
+        copy.numPages = numPages;
+        copy.limit = limit;
+        copy.startIndex = startIndex;
+        copy.endIndex = endIndex;
+        copy.hasNext = hasNext;
+        copy.hasPrevious = hasPrevious;
+        copy.nextCursor = nextCursor;
+        copy.prevCursor = prevCursor;
+        return copy;
+    }
+
     @Override
     public String toString() {
-        return "Metadata [count=" + count + ", currentPage=" + currentPage + ", numPages=" + numPages + ", limit=" + limit + ", sort=" + sort + ", startIndex="
-                        + startIndex + ", endIndex=" + endIndex + "]";
+        return "Metadata [count=" + count + ", exact=" + exact + ", currentPage=" + currentPage + ", requestedPage=" + requestedPage + ", numPages="
+                        + numPages + ", limit=" + limit + ", sort=" + sort + ", startIndex=" + startIndex + ", endIndex=" + endIndex
+                        + ", hasNext=" + hasNext + ", hasPrevious=" + hasPrevious + ", nextCursor=" + nextCursor + ", prevCursor=" + prevCursor + "]";
     }
 
 }
@@ -1,5 +1,7 @@
 package io.coodoo.framework.listing.boundary;
 
+import java.util.Date;
+
 public class Stats {
 
     private Long count;
@@ -7,6 +9,8 @@ public class Stats {
     private Number max;
     private Double avg;
     private Number sum;
+    private Object minDate;
+    private Object maxDate;
 
     public Long getCount() {
         return count;
@@ -48,9 +52,47 @@ public class Stats {
         this.sum = sum;
     }
 
+    /**
+     * @return earliest value of a date attribute (the type of the attribute, e.g. <code>Date</code> or <code>LocalDateTime</code>)
+     */
+    public Object getMinDate() {
+        return minDate;
+    }
+
+    public void setMinDate(Object minDate) {
+        this.minDate = minDate;
+    }
+
+    /**
+     * @return latest value of a date attribute (the type of the attribute, e.g. <code>Date</code> or <code>LocalDateTime</code>)
+     */
+    public Object getMaxDate() {
+        return maxDate;
+    }
+
+    public void setMaxDate(Object maxDate) {
+        this.maxDate = maxDate;
+    }
+
+    /**
+     * @return copy of these stats that can be changed without affecting them
+     */
+    public Stats copy() {
+        Stats copy = new Stats();
+        copy.count = count;
+        copy.min = min;
+        copy.max = max;
+        copy.avg = avg;
+        copy.sum = sum;
+        // java.util.Date is mutable, unlike the other values
+        copy.minDate = minDate instanceof Date ? ((Date) minDate).clone() : minDate;
+        copy.maxDate = maxDate instanceof Date ? ((Date) maxDate).clone() : maxDate;
+        return copy;
+    }
+
     @Override
     public String toString() {
-        return "Stats [count=" + count + ", min=" + min + ", max=" + max + ", avg=" + avg + ", sum=" + sum + "]";
+        return "Stats [count=" + count + ", min=" + min + ", max=" + max + ", avg=" + avg + ", sum=" + sum + ", minDate=" + minDate + ", maxDate=" + maxDate + "]";
     }
 
 }
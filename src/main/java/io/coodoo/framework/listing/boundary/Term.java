@@ -1,5 +1,7 @@
 package io.coodoo.framework.listing.boundary;
 
+import java.util.Date;
+
 public class Term {
 
     private long count;
@@ -54,6 +56,19 @@ public class Term {
         this.valueAsNumber = valueAsNumber;
     }
 
+    /**
+     * @return copy of this term that can be changed without affecting it
+     */
+    public Term copy() {
+        Term copy = new Term();
+        copy.count = count;
+        // java.util.Date is mutable, unlike the other values
+        copy.value = value instanceof Date ? ((Date) value).clone() : value;
+        copy.valueAsString = valueAsString;
+        copy.valueAsNumber = valueAsNumber;
+        return copy;
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -0,0 +1,30 @@
+package io.coodoo.framework.listing.boundary.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Listing results of this entity get cached, see {@link io.coodoo.framework.listing.control.ListingResultCache}. To drop them as soon as an entity
+ * changes, add {@link io.coodoo.framework.listing.boundary.ListingCacheListener} as entity listener.
+ * <p>
+ * Only read-only listings get cached (see {@link io.coodoo.framework.listing.boundary.ListingParameters#setReadOnly(Boolean)}). Their entities get
+ * detached before they are cached, as the cached result is shared across threads and transactions, so they can't be lazy loaded or changed to be
+ * persisted. That goes for the listing that filled the cache as well: a cacheable read-only listing always returns detached entities, associations
+ * needed later on have to be fetched along. Every caller gets its own copy of the cached result, including its metadata, terms and stats, but the
+ * entities are shared read-only snapshots and must not be changed.
+ * </p>
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ListingCacheable {
+
+    /**
+     * @return time to live of a cached listing result in milliseconds, 0 takes {@link io.coodoo.framework.listing.control.ListingConfig#CACHE_TTL}
+     */
+    long ttl() default 0;
+
+}
@@ -0,0 +1,19 @@
+package io.coodoo.framework.listing.boundary.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Field that changes whenever the entity changes, e.g. a last modification timestamp. It takes precedence over {@link javax.persistence.Version} for the
+ * version of a listing, see {@link io.coodoo.framework.listing.boundary.Listing#getVersion(javax.persistence.EntityManager, Class,
+ * io.coodoo.framework.listing.boundary.ListingParameters)}.
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ListingVersion {
+
+}
@@ -0,0 +1,154 @@
+package io.coodoo.framework.listing.control;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+import io.coodoo.framework.listing.boundary.annotation.ListingVersion;
+
+/**
+ * Listing relevant structure of an entity class. It gets resolved by reflection only once per entity class and is cached for all following queries.
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public final class EntityListingDescriptor {
+
+    private static final ConcurrentMap<Class<?>, EntityListingDescriptor> descriptors = new ConcurrentHashMap<>();
+
+    private final Class<?> entityClass;
+    private final List<ListingField> fields;
+    private final Map<String, ListingField> fieldMap;
+    private final List<ListingField> searchableFields;
+    private final Map<String, ListingField> searchableFieldMap;
+    private final ListingField idField;
+    private final ListingField versionField;
+    private final String tableName;
+
+    private EntityListingDescriptor(Class<?> entityClass) {
+
+        this.entityClass = entityClass;
+
+        Map<String, ListingField> fieldMap = new LinkedHashMap<>();
+        for (Field field : ListingUtil.getFields(entityClass, true)) {
+            // a field of a subclass hides the field with the same name of its superclass
+            fieldMap.putIfAbsent(field.getName(), new ListingField(field));
+        }
+        Map<String, ListingField> searchableFieldMap = new LinkedHashMap<>();
+        for (Field field : ListingUtil.getFields(entityClass, false)) {
+            ListingField listingField = fieldMap.get(field.getName());
+            if (listingField != null) {
+                searchableFieldMap.putIfAbsent(field.getName(), listingField);
+            }
+        }
+        Field id = ListingUtil.getIdField(entityClass);
+
+        this.fieldMap = Collections.unmodifiableMap(fieldMap);
+        this.fields = Collections.unmodifiableList(new ArrayList<>(fieldMap.values()));
+        this.searchableFieldMap = Collections.unmodifiableMap(searchableFieldMap);
+        this.searchableFields = Collections.unmodifiableList(new ArrayList<>(searchableFieldMap.values()));
+        this.idField = id == null ? null : fieldMap.get(id.getName());
+        this.versionField = findVersionField(fields);
+
+        // without an explicit name the table name depends on the naming strategy of the persistence provider
+        Table table = entityClass.getAnnotation(Table.class);
+        this.tableName = table != null && !table.name().isEmpty() ? table.name() : null;
+    }
+
+    private static ListingField findVersionField(List<ListingField> fields) {
+        ListingField version = null;
+        for (ListingField field : fields) {
+            if (field.getField().isAnnotationPresent(ListingVersion.class)) {
+                return field;
+            }
+            if (version == null && field.getField().isAnnotationPresent(Version.class)) {
+                version = field;
+            }
+        }
+        return version;
+    }
+
+    /**
+     * @param entityClass target entity class
+     * @return the (cached) descriptor of the entity class
+     */
+    public static EntityListingDescriptor of(Class<?> entityClass) {
+        return descriptors.computeIfAbsent(entityClass, EntityListingDescriptor::new);
+    }
+
+    /**
+     * Removes all cached descriptors, e.g. after a redeployment with changed entity classes
+     */
+    public static void clear() {
+        descriptors.clear();
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * @return all fields that are columns in the database, including the identifier
+     */
+    public List<ListingField> getFields() {
+        return fields;
+    }
+
+    /**
+     * @param name attribute name
+     * @return field of any column or <code>null</code> if there is no such field
+     */
+    public ListingField getField(String name) {
+        return name == null ? null : fieldMap.get(name);
+    }
+
+    /**
+     * @return fields that are part of a type wide filter (no identifier and nothing that is ignored by {@link ListingUtil#getFields(Class)})
+     */
+    public List<ListingField> getSearchableFields() {
+        return searchableFields;
+    }
+
+    /**
+     * @param name attribute name
+     * @return searchable field or <code>null</code> if there is no such field
+     */
+    public ListingField getSearchableField(String name) {
+        return name == null ? null : searchableFieldMap.get(name);
+    }
+
+    /**
+     * @return field annotated by {@link javax.persistence.Id} or <code>null</code> if there is none
+     */
+    public ListingField getIdField() {
+        return idField;
+    }
+
+    /**
+     * @return field annotated by {@link ListingVersion}, otherwise by {@link Version}, or <code>null</code> if there is none
+     */
+    public ListingField getVersionField() {
+        return versionField;
+    }
+
+    /**
+     * @return name of the table given by {@link Table}, otherwise <code>null</code>
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityListingDescriptor [entityClass=" + entityClass.getName() + ", fields=" + fields.size() + ", searchableFields=" + searchableFields.size()
+                        + "]";
+    }
+
+}
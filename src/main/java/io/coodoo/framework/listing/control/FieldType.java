@@ -0,0 +1,52 @@
+package io.coodoo.framework.listing.control;
+
+/**
+ * Type category of an entity field, defining how filters get applied to it
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public enum FieldType {
+
+    STRING, LOCAL_DATE_TIME, DATE, LONG, INTEGER, SHORT, FLOAT, DOUBLE, BOOLEAN, ENUM, OTHER;
+
+    /**
+     * @param type field type
+     * @return type category of the field type
+     */
+    public static FieldType of(Class<?> type) {
+
+        if (type.isEnum()) {
+            return ENUM;
+        }
+        switch (type.getSimpleName()) {
+            case "String":
+                return STRING;
+            case "LocalDateTime":
+                return LOCAL_DATE_TIME;
+            case "Long":
+            case "long":
+                return LONG;
+            case "Integer":
+            case "int":
+                return INTEGER;
+            case "Short":
+            case "short":
+                return SHORT;
+            case "Float":
+            case "float":
+                return FLOAT;
+            case "Double":
+            case "double":
+                return DOUBLE;
+            case "Boolean":
+            case "boolean":
+                return BOOLEAN;
+            case "Date":
+                // java.util.Date and java.sql.Date
+                return DATE;
+            default:
+                return OTHER;
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package io.coodoo.framework.listing.control;
+
+/**
+ * Typed interpretation of a filter term for a specific {@link FieldType}, e.g. <code>"&lt;200"</code> on a {@link FieldType#LONG} field is a
+ * {@link Operator#LESS_THAN} comparison with the value <code>200L</code>
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public final class FilterComparison {
+
+    public enum Operator {
+        EQUAL, LIKE, LESS_THAN, GREATER_THAN, BETWEEN
+    }
+
+    private final Operator operator;
+    private final Object value;
+    private final Object toValue;
+
+    FilterComparison(Operator operator, Object value) {
+        this(operator, value, null);
+    }
+
+    FilterComparison(Operator operator, Object value, Object toValue) {
+        this.operator = operator;
+        this.value = value;
+        this.toValue = toValue;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * @return value to compare with, in case of {@link Operator#BETWEEN} the lower bound
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * @return upper bound in case of {@link Operator#BETWEEN}, <code>null</code> otherwise
+     */
+    public Object getToValue() {
+        return toValue;
+    }
+
+    @Override
+    public String toString() {
+        return operator + (toValue == null ? "(" + value + ")" : "(" + value + ", " + toValue + ")");
+    }
+
+}
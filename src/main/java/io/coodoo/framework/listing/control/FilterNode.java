@@ -0,0 +1,74 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Node of the abstract syntax tree of a parsed filter, see {@link FilterParser}
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public final class FilterNode {
+
+    public enum Type {
+        AND, OR, NOT, TERM
+    }
+
+    private final Type type;
+    private final List<FilterNode> children;
+    private final FilterTerm term;
+
+    private FilterNode(Type type, List<FilterNode> children, FilterTerm term) {
+        this.type = type;
+        this.children = children;
+        this.term = term;
+    }
+
+    static FilterNode and(List<FilterNode> children) {
+        return new FilterNode(Type.AND, Collections.unmodifiableList(children), null);
+    }
+
+    static FilterNode or(List<FilterNode> children) {
+        return new FilterNode(Type.OR, Collections.unmodifiableList(children), null);
+    }
+
+    static FilterNode not(FilterNode child) {
+        return new FilterNode(Type.NOT, Collections.singletonList(child), null);
+    }
+
+    static FilterNode term(FilterTerm term) {
+        return new FilterNode(Type.TERM, Collections.emptyList(), term);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return operands of {@link Type#AND} and {@link Type#OR}, the negated node of {@link Type#NOT}, empty for {@link Type#TERM}
+     */
+    public List<FilterNode> getChildren() {
+        return children;
+    }
+
+    /**
+     * @return the term of a {@link Type#TERM} node, <code>null</code> otherwise
+     */
+    public FilterTerm getTerm() {
+        return term;
+    }
+
+    public boolean isTerm() {
+        return type == Type.TERM;
+    }
+
+    @Override
+    public String toString() {
+        if (type == Type.TERM) {
+            return term.toString();
+        }
+        return type + children.stream().map(FilterNode::toString).collect(Collectors.joining(", ", "(", ")"));
+    }
+
+}
@@ -0,0 +1,236 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Parses a filter string in a single pass into a tree of {@link FilterNode}s.
+ * <p>
+ * Grammar (the OR binds tighter than the AND, just like the filters always got split):
+ * </p>
+ * 
+ * <pre>
+ * filter  := or  ( ('&amp;' | ' AND ') or )*
+ * or      := not ( ('|' | ' OR ')  not )*
+ * not     := ('!' | 'NOT ') not | primary
+ * primary := '(' filter ')' | term
+ * </pre>
+ * <p>
+ * A term ends at the next operator, quoted parts of a term (<code>"a|b"</code>) are taken literally. A parenthesis only opens a group at the beginning of
+ * an operand and if there is a matching closing one, otherwise it is just part of the term.
+ * </p>
+ * <p>
+ * Parsed filters get cached by their filter string (see {@link ListingConfig#FILTER_CACHE_SIZE}), as the same filters tend to come in over and over
+ * again.
+ * </p>
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public final class FilterParser {
+
+    private static final Map<String, FilterNode> filters = new ConcurrentHashMap<>();
+    private static final Map<String, FilterTerm> terms = new ConcurrentHashMap<>();
+
+    private final String filter;
+    private int position;
+    private int groupDepth;
+
+    private FilterParser(String filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * @param filter filter string, e.g. <code>"!foo | bar &amp; &lt;2018"</code>
+     * @return root of the syntax tree or <code>null</code> if the filter is empty
+     */
+    public static FilterNode parse(String filter) {
+
+        if (filter == null || filter.trim().isEmpty()) {
+            return null;
+        }
+        return cached(filters, filter, f -> new FilterParser(f).parseFilter());
+    }
+
+    /**
+     * @param filter filter string that is taken as one term as is, no operators get parsed
+     * @return the term or <code>null</code> if the filter is empty
+     */
+    public static FilterTerm term(String filter) {
+
+        if (filter == null || filter.trim().isEmpty()) {
+            return null;
+        }
+        return cached(terms, filter, f -> new FilterTerm(f.trim()));
+    }
+
+    /**
+     * Removes all parsed filters from the cache
+     */
+    public static void clear() {
+        filters.clear();
+        terms.clear();
+    }
+
+    private static <V> V cached(Map<String, V> cache, String filter, Function<String, V> parser) {
+
+        if (ListingConfig.FILTER_CACHE_SIZE <= 0) {
+            return parser.apply(filter);
+        }
+        V value = cache.get(filter);
+        if (value == null) {
+            value = parser.apply(filter);
+            if (value != null) {
+                if (cache.size() >= ListingConfig.FILTER_CACHE_SIZE) {
+                    cache.clear(); // simple bound, a busy cache just gets filled up again with the filters in use
+                }
+                cache.put(filter, value);
+            }
+        }
+        return value;
+    }
+
+    private FilterNode parseFilter() {
+
+        List<FilterNode> operands = new ArrayList<>();
+        do {
+            add(operands, parseOr());
+        } while (consume(ListingConfig.OPERATOR_AND, ListingConfig.OPERATOR_AND_WORD));
+
+        return operands.isEmpty() ? null : operands.size() == 1 ? operands.get(0) : FilterNode.and(operands);
+    }
+
+    private FilterNode parseOr() {
+
+        List<FilterNode> operands = new ArrayList<>();
+        do {
+            add(operands, parseNot());
+        } while (consume(ListingConfig.OPERATOR_OR, ListingConfig.OPERATOR_OR_WORD));
+
+        return operands.isEmpty() ? null : operands.size() == 1 ? operands.get(0) : FilterNode.or(operands);
+    }
+
+    private FilterNode parseNot() {
+
+        skipBlanks();
+        String operator = null;
+        if (startsWith(ListingConfig.OPERATOR_NOT, position)) {
+            operator = ListingConfig.OPERATOR_NOT;
+        } else if (startsWith(ListingConfig.OPERATOR_NOT_WORD, position)) {
+            operator = ListingConfig.OPERATOR_NOT_WORD;
+        }
+        if (operator != null) {
+            position += operator.length();
+            FilterNode negated = parseNot();
+            return negated == null ? null : FilterNode.not(negated);
+        }
+        return parsePrimary();
+    }
+
+    private FilterNode parsePrimary() {
+
+        skipBlanks();
+        if (position < filter.length() && filter.charAt(position) == '(') {
+
+            int start = position;
+            position++;
+            groupDepth++;
+            FilterNode group = parseFilter();
+            skipBlanks();
+            groupDepth--;
+
+            if (position < filter.length() && filter.charAt(position) == ')') {
+                position++;
+                if (isOperandEnd()) {
+                    return group;
+                }
+            }
+            position = start; // no group after all, the parenthesis is part of the term
+        }
+        return parseTerm();
+    }
+
+    private FilterNode parseTerm() {
+
+        int start = position;
+        while (position < filter.length() && !isTermEnd(position)) {
+            if (filter.charAt(position) == '"') {
+                int closingQuote = filter.indexOf('"', position + 1);
+                if (closingQuote > 0) {
+                    position = closingQuote; // operators within quotes are no operators
+                }
+            }
+            position++;
+        }
+        String term = filter.substring(start, position).trim();
+        return term.isEmpty() ? null : FilterNode.term(new FilterTerm(term));
+    }
+
+    private boolean isTermEnd(int index) {
+
+        if (groupDepth > 0 && filter.charAt(index) == ')') {
+            return true;
+        }
+        return isOperator(index, ListingConfig.OPERATOR_AND, ListingConfig.OPERATOR_AND_WORD)
+                        || isOperator(index, ListingConfig.OPERATOR_OR, ListingConfig.OPERATOR_OR_WORD);
+    }
+
+    private boolean isOperandEnd() {
+
+        int start = position;
+        skipBlanks();
+        boolean operandEnd = position == filter.length() || (groupDepth > 0 && filter.charAt(position) == ')');
+        position = start;
+        return operandEnd || isOperator(position, ListingConfig.OPERATOR_AND, ListingConfig.OPERATOR_AND_WORD)
+                        || isOperator(position, ListingConfig.OPERATOR_OR, ListingConfig.OPERATOR_OR_WORD);
+    }
+
+    /**
+     * @return <code>true</code> if there is the operator symbol (after optional blanks) or the operator word surrounded by blanks
+     */
+    private boolean isOperator(int index, String operator, String operatorWord) {
+
+        int start = index;
+        while (index < filter.length() && filter.charAt(index) == ' ') {
+            index++;
+        }
+        if (startsWith(operator, index)) {
+            return true;
+        }
+        String word = operatorWord.trim();
+        return index > start && startsWith(word, index) && index + word.length() < filter.length() && filter.charAt(index + word.length()) == ' ';
+    }
+
+    private boolean consume(String operator, String operatorWord) {
+
+        if (!isOperator(position, operator, operatorWord)) {
+            return false;
+        }
+        skipBlanks();
+        if (startsWith(operator, position)) {
+            position += operator.length();
+        } else {
+            position += operatorWord.trim().length();
+        }
+        return true;
+    }
+
+    private boolean startsWith(String operator, int index) {
+        return !operator.isEmpty() && filter.startsWith(operator, index);
+    }
+
+    private void skipBlanks() {
+        while (position < filter.length() && filter.charAt(position) == ' ') {
+            position++;
+        }
+    }
+
+    private static void add(List<FilterNode> operands, FilterNode operand) {
+        if (operand != null) {
+            operands.add(operand);
+        }
+    }
+
+}
@@ -0,0 +1,252 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import io.coodoo.framework.listing.control.FilterComparison.Operator;
+
+/**
+ * Leaf of a parsed filter: a single value like <code>"foo"</code>, <code>~5</code>, <code>&lt;200</code> or <code>10-20</code>.
+ * <p>
+ * What a term means depends on the type of the field it gets applied to. This interpretation is done once per {@link FieldType} and kept with the term,
+ * so a cached term never gets parsed twice.
+ * </p>
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public final class FilterTerm {
+
+    private static final FilterComparison NO_COMPARISON = new FilterComparison(null, null);
+
+    private final String value;
+    private final boolean quoted;
+    private final boolean nullValue;
+    private final FilterComparison[] comparisons = new FilterComparison[FieldType.values().length];
+
+    FilterTerm(String value) {
+        this.value = value;
+        this.quoted = value.length() > 1 && ListingUtil.isQuoted(value);
+        this.nullValue = value.equals(ListingConfig.OPERATOR_NULL);
+    }
+
+    /**
+     * @return the term as given in the filter (trimmed)
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return the term without surrounding quotes
+     */
+    public String getUnquotedValue() {
+        return quoted ? value.substring(1, value.length() - 1) : value;
+    }
+
+    /**
+     * @return <code>true</code> if the term is surrounded by quotes and therefore needs an exact match
+     */
+    public boolean isQuoted() {
+        return quoted;
+    }
+
+    /**
+     * @return <code>true</code> if the term is the NULL operator
+     */
+    public boolean isNull() {
+        return nullValue;
+    }
+
+    /**
+     * @param fieldType type of the field the term gets applied on
+     * @return the comparison this term stands for on that type of field, or <code>null</code> if the term doesn't make sense for that type
+     */
+    public FilterComparison getComparison(FieldType fieldType) {
+
+        FilterComparison comparison = comparisons[fieldType.ordinal()];
+        if (comparison == null) {
+            // racy but idempotent, the comparison is immutable
+            comparison = interpret(fieldType);
+            comparisons[fieldType.ordinal()] = comparison == null ? NO_COMPARISON : comparison;
+        }
+        return comparison == NO_COMPARISON ? null : comparison;
+    }
+
+    private FilterComparison interpret(FieldType fieldType) {
+
+        switch (fieldType) {
+            case STRING:
+                // quoted values needs an exact match
+                if (quoted) {
+                    return new FilterComparison(Operator.EQUAL, getUnquotedValue());
+                }
+                return new FilterComparison(Operator.LIKE, ListingUtil.likeValue(value));
+
+            // case LocalDate: Doesn't work in JPA 2.0...
+            case LOCAL_DATE_TIME:
+                return interpretDate(ListingUtil::parseDateTime);
+            case DATE:
+                return interpretDate(ListingUtil::parseDate);
+
+            case LONG:
+                return interpretNumber(number -> parseInteger(number, 19) == null ? null : Long.valueOf(number));
+            case INTEGER:
+                return interpretNumber(number -> parseInteger(number, 10) == null ? null : Integer.valueOf(number));
+            case SHORT:
+                return interpretNumber(number -> parseInteger(number, 5) == null ? null : Short.valueOf(number));
+            case FLOAT:
+                return interpretNumber(number -> isDecimal(number) ? Float.valueOf(number.replace(",", ".")) : null);
+            case DOUBLE:
+                return interpretNumber(number -> isDecimal(number) ? Double.valueOf(number.replace(",", ".")) : null);
+
+            case BOOLEAN:
+                if (ListingConfig.BOOLEAN_TRUE.equalsIgnoreCase(value) || ListingConfig.BOOLEAN_FALSE.equalsIgnoreCase(value)) {
+                    return new FilterComparison(Operator.EQUAL, ListingConfig.BOOLEAN_TRUE.equalsIgnoreCase(value));
+                }
+                return null;
+
+            default:
+                return null;
+        }
+    }
+
+    private FilterComparison interpretDate(BiFunction<String, Boolean, Object> parser) {
+
+        if (ListingUtil.validDate(value)) {
+            return between(parser.apply(value, false), parser.apply(value, true));
+        }
+        String ltValue = withoutPrefix(value, ListingConfig.OPERATOR_LT, ListingConfig.OPERATOR_LT_WORD);
+        if (ltValue != null && ListingUtil.validDate(ltValue)) {
+            return comparison(Operator.LESS_THAN, parser.apply(ltValue, false));
+        }
+        String gtValue = withoutPrefix(value, ListingConfig.OPERATOR_GT, ListingConfig.OPERATOR_GT_WORD);
+        if (gtValue != null && ListingUtil.validDate(gtValue)) {
+            return comparison(Operator.GREATER_THAN, parser.apply(gtValue, true));
+        }
+        String[] range = range(value, ListingUtil::validDate);
+        if (range != null) {
+            return between(parser.apply(range[0], false), parser.apply(range[1], true));
+        }
+        return null;
+    }
+
+    private FilterComparison interpretNumber(Function<String, Object> parser) {
+
+        Object number = parser.apply(value);
+        if (number != null) {
+            return new FilterComparison(Operator.EQUAL, number);
+        }
+        String likeValue = withoutPrefix(value, ListingConfig.OPERATOR_LIKE, ListingConfig.OPERATOR_LIKE_WORD);
+        if (likeValue != null && parser.apply(likeValue) != null) {
+            return new FilterComparison(Operator.LIKE, ListingUtil.likeValue(likeValue));
+        }
+        String ltValue = withoutPrefix(value, ListingConfig.OPERATOR_LT, ListingConfig.OPERATOR_LT_WORD);
+        if (ltValue != null) {
+            return comparison(Operator.LESS_THAN, parser.apply(ltValue));
+        }
+        String gtValue = withoutPrefix(value, ListingConfig.OPERATOR_GT, ListingConfig.OPERATOR_GT_WORD);
+        if (gtValue != null) {
+            return comparison(Operator.GREATER_THAN, parser.apply(gtValue));
+        }
+        String[] range = range(value, bound -> parser.apply(bound) != null);
+        if (range != null) {
+            return between(parser.apply(range[0]), parser.apply(range[1]));
+        }
+        return null;
+    }
+
+    private static FilterComparison comparison(Operator operator, Object value) {
+        return value == null ? null : new FilterComparison(operator, value);
+    }
+
+    private static FilterComparison between(Object from, Object to) {
+        return from == null || to == null ? null : new FilterComparison(Operator.BETWEEN, from, to);
+    }
+
+    private static String withoutPrefix(String value, String operator, String operatorWord) {
+        if (value.startsWith(operator)) {
+            return value.substring(operator.length()).trim();
+        }
+        if (value.startsWith(operatorWord)) {
+            return value.substring(operatorWord.length()).trim();
+        }
+        return null;
+    }
+
+    /**
+     * Splits a range like <code>10-20</code> or <code>-20 TO -10</code> at the first position both bounds are valid
+     */
+    private static String[] range(String value, Function<String, Boolean> validBound) {
+
+        for (String operator : new String[] {ListingConfig.OPERATOR_TO_WORD, ListingConfig.OPERATOR_TO}) {
+            int index = value.indexOf(operator, 1);
+            while (index > 0) {
+                String from = value.substring(0, index);
+                String to = value.substring(index + operator.length());
+                if (!from.isEmpty() && !to.isEmpty() && validBound.apply(from) && validBound.apply(to)) {
+                    return new String[] {from, to};
+                }
+                index = value.indexOf(operator, index + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the value if it is an optionally signed integer with at most the given count of digits that doesn't overflow, otherwise <code>null</code>
+     */
+    private static Long parseInteger(String value, int maxDigits) {
+
+        int start = !value.isEmpty() && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        int digits = value.length() - start;
+        if (digits < 1 || digits > maxDigits) {
+            return null;
+        }
+        for (int i = start; i < value.length(); i++) {
+            if (!isDigit(value.charAt(i))) {
+                return null;
+            }
+        }
+        try {
+            long number = Long.parseLong(value);
+            if (maxDigits <= 5 ? number != (short) number : maxDigits <= 10 && number != (int) number) {
+                return null;
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> for optionally signed decimals using a dot or comma as separator, like <code>-1,5</code> or <code>.5</code>
+     */
+    private static boolean isDecimal(String value) {
+
+        int i = !value.isEmpty() && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        int digits = 0;
+        while (i < value.length() && isDigit(value.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < value.length() && (value.charAt(i) == '.' || value.charAt(i) == ',')) {
+            i++;
+            digits = 0;
+            while (i < value.length() && isDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        return digits > 0 && i == value.length();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+}
@@ -0,0 +1,37 @@
+package io.coodoo.framework.listing.control;
+
+/**
+ * Backend of the {@link ListingResultCache}, the built-in one is {@link LocalListingCache}. Implementations have to be thread-safe.
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public interface ListingCache {
+
+    /**
+     * @param entityClass target entity class
+     * @param key canonical key of the listing parameters
+     * @return cached value or <code>null</code> if there is none or it has expired
+     */
+    Object get(Class<?> entityClass, String key);
+
+    /**
+     * @param entityClass target entity class
+     * @param key canonical key of the listing parameters
+     * @param value value to cache
+     * @param ttl time to live in milliseconds
+     */
+    void put(Class<?> entityClass, String key, Object value, long ttl);
+
+    /**
+     * Drops all the cached values of the entity class
+     * 
+     * @param entityClass target entity class
+     */
+    void invalidate(Class<?> entityClass);
+
+    /**
+     * Drops all the cached values
+     */
+    void clear();
+
+}
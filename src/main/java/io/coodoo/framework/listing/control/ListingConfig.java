@@ -44,6 +44,12 @@ public class ListingConfig {
      */
     public static String FILTER_TYPE_DISJUNCTION = "Filter-Type-Disjunction";
 
+    /**
+     * If a page beyond the last one is requested, the last page gets delivered instead (default). Otherwise, and if the count mode isn't
+     * {@link io.coodoo.framework.listing.boundary.CountMode#EXACT}, the result is an empty page.
+     */
+    public static boolean CLAMP_PAGE = true;
+
     /**
      * Limit on OR operator separated predicated to handle it in an IN statement
      */
@@ -191,6 +197,111 @@ public class ListingConfig {
      */
     public static int FETCHSIZE = 0;
 
+    /**
+     * Maximum count of parsed filter strings kept in memory, so recurring filters don't get parsed again. If this is set to <code>0</code> filters won't
+     * get cached.
+     */
+    public static int FILTER_CACHE_SIZE = 1000;
+
+    /**
+     * Deadline in milliseconds for all the queries of a listing result that are running in parallel
+     */
+    public static int PARALLEL_TIMEOUT = 30000;
+
+    /**
+     * Name of a SQL function known to the persistence provider that renders as <code>COUNT(*) OVER()</code> (or the equivalent of the database). If it is
+     * set, the total count gets selected along with the rows of the page instead of a separate count query.<br>
+     * <br>
+     * For Hibernate this would be a <code>SQLFunctionTemplate(StandardBasicTypes.LONG, "count(*) over()")</code> registered in the dialect. If this is
+     * <code>null</code> (default) it will not be applied.
+     */
+    public static String COUNT_WINDOW_FUNCTION = null;
+
+    /**
+     * Default limit for the count mode <code>capped</code>
+     */
+    public static int COUNT_CAP = 1000;
+
+    /**
+     * Native query for the count mode <code>estimated</code> that returns the estimated row count of the table given as first parameter, e.g. for
+     * PostgreSQL <code>SELECT reltuples::bigint FROM pg_class WHERE relname = lower(?1)</code>. The table name comes from <code>@Table(name = "...")</code>,
+     * entities without it get a <code>capped</code> count.<br>
+     * If this is <code>null</code> (default) the count mode <code>estimated</code> is the same as <code>capped</code>.
+     */
+    public static String COUNT_ESTIMATE_QUERY = null;
+
+    /**
+     * Several terms attributes get grouped together in one query and are counted up per attribute afterwards. If the combinations of their values exceed
+     * this limit, every attribute gets its own query instead. If this is set to <code>0</code> there is always a query per attribute.
+     */
+    public static int TERMS_COMBINED_LIMIT = 10000;
+
+    /**
+     * Count of rows selected by one query when streaming a listing, only one batch is kept in memory at a time
+     */
+    public static int STREAM_BATCH_SIZE = 1000;
+
+    /**
+     * If <code>true</code>, listing results are loaded read-only (see {@link ListingQuery#readOnly(boolean)}), by default they are not. This can be
+     * overridden per call by {@link io.coodoo.framework.listing.boundary.ListingParameters#setReadOnly(Boolean)}
+     */
+    public static boolean READ_ONLY = false;
+
+    /**
+     * Entities loaded read-only get detached from the entity manager right away, so large pages don't inflate the persistence context
+     */
+    public static boolean READ_ONLY_DETACH = false;
+
+    /**
+     * Separator of the values in a CSV export
+     */
+    public static String EXPORT_CSV_SEPARATOR = ",";
+
+    /**
+     * Maximal count of listing results in the built-in cache (see {@link ListingResultCache}), 0 disables caching
+     */
+    public static int CACHE_SIZE = 1000;
+
+    /**
+     * Default time to live in milliseconds of a cached listing result
+     */
+    public static int CACHE_TTL = 60000;
+
+    /**
+     * Time to live in milliseconds of a cached total count, shared by all pages of the same filter (see {@link ListingResultCache}), 0 disables it. Only
+     * counts of entities annotated with {@link io.coodoo.framework.listing.boundary.annotation.ListingCacheable} get cached, as only those get
+     * invalidated by {@link io.coodoo.framework.listing.boundary.ListingCacheListener}.
+     */
+    public static int COUNT_CACHE_TTL = 0;
+
+    /**
+     * Identical listing queries running at the same time get coalesced into one (see {@link ListingSingleFlight}). Listing results only if they are
+     * read-only, their entities get detached.
+     */
+    public static boolean SINGLE_FLIGHT = false;
+
+    /**
+     * After a page of a read-only listing of an entity annotated with {@link io.coodoo.framework.listing.boundary.annotation.ListingCacheable} got
+     * listed, the next one gets prefetched in the background (see {@link ListingPrefetch}). The prefetched pages are kept in the backend
+     * of the {@link ListingResultCache}, so this needs {@link #CACHE_SIZE} &gt; 0 or a backend set by {@link ListingResultCache#setCache(ListingCache)}.
+     */
+    public static boolean PREFETCH = false;
+
+    /**
+     * Time to live in milliseconds of a prefetched page
+     */
+    public static int PREFETCH_TTL = 10000;
+
+    /**
+     * Threads of the built-in prefetch executor
+     */
+    public static int PREFETCH_THREADS = 2;
+
+    /**
+     * Prefetches waiting for a thread of the built-in prefetch executor, further ones are dropped
+     */
+    public static int PREFETCH_QUEUE = 10;
+
     /**
      * Name of the (optional) listing property file
      */
@@ -218,6 +329,7 @@ public class ListingConfig {
 
                 FILTER_TYPE_DISJUNCTION = loadProperty(FILTER_TYPE_DISJUNCTION, "coodoo.listing.filter.type.disjunction");
                 OR_LIMIT = loadProperty(OR_LIMIT, "coodoo.listing.or.limit");
+                CLAMP_PAGE = loadProperty(CLAMP_PAGE, "coodoo.listing.clamp.page");
 
                 OPERATOR_NOT = loadProperty(OPERATOR_NOT, "coodoo.listing.operator.not");
                 OPERATOR_NOT_WORD_BLANK = loadProperty(OPERATOR_NOT_WORD_BLANK, "coodoo.listing.operator.not.word");
@@ -246,6 +358,27 @@ public class ListingConfig {
                 URI_CHARACTER_ENCODING = loadProperty(URI_CHARACTER_ENCODING, "coodoo.listing.uricharacterencoding");
 
                 FETCHSIZE = loadProperty(FETCHSIZE, "coodoo.listing.fetchSize");
+                FILTER_CACHE_SIZE = loadProperty(FILTER_CACHE_SIZE, "coodoo.listing.filter.cache.size");
+                PARALLEL_TIMEOUT = loadProperty(PARALLEL_TIMEOUT, "coodoo.listing.parallel.timeout");
+                COUNT_WINDOW_FUNCTION = loadProperty(COUNT_WINDOW_FUNCTION, "coodoo.listing.count.window.function");
+                COUNT_CAP = loadProperty(COUNT_CAP, "coodoo.listing.count.cap");
+                COUNT_ESTIMATE_QUERY = loadProperty(COUNT_ESTIMATE_QUERY, "coodoo.listing.count.estimate.query");
+                TERMS_COMBINED_LIMIT = loadProperty(TERMS_COMBINED_LIMIT, "coodoo.listing.terms.combined.limit");
+                STREAM_BATCH_SIZE = loadProperty(STREAM_BATCH_SIZE, "coodoo.listing.stream.batch.size");
+                READ_ONLY = loadProperty(READ_ONLY, "coodoo.listing.read.only");
+                READ_ONLY_DETACH = loadProperty(READ_ONLY_DETACH, "coodoo.listing.read.only.detach");
+                EXPORT_CSV_SEPARATOR = loadProperty(EXPORT_CSV_SEPARATOR, "coodoo.listing.export.csv.separator");
+                CACHE_SIZE = loadProperty(CACHE_SIZE, "coodoo.listing.cache.size");
+                CACHE_TTL = loadProperty(CACHE_TTL, "coodoo.listing.cache.ttl");
+                COUNT_CACHE_TTL = loadProperty(COUNT_CACHE_TTL, "coodoo.listing.count.cache.ttl");
+                SINGLE_FLIGHT = loadProperty(SINGLE_FLIGHT, "coodoo.listing.single.flight");
+                PREFETCH = loadProperty(PREFETCH, "coodoo.listing.prefetch");
+                PREFETCH_TTL = loadProperty(PREFETCH_TTL, "coodoo.listing.prefetch.ttl");
+                PREFETCH_THREADS = loadProperty(PREFETCH_THREADS, "coodoo.listing.prefetch.threads");
+                PREFETCH_QUEUE = loadProperty(PREFETCH_QUEUE, "coodoo.listing.prefetch.queue");
+
+                // operators may have changed, so filters parsed so far are outdated
+                FilterParser.clear();
             }
         } catch (IOException e) {
             log.info("Couldn't read {}!", listingPropertiesFilename, e);
@@ -0,0 +1,176 @@
+package io.coodoo.framework.listing.control;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+import io.coodoo.framework.listing.boundary.ExportFormat;
+
+/**
+ * Writes listing rows as CSV or NDJSON, one row after another. The fields to write are resolved once, so no reflection lookup is needed per row.
+ *
+ * @author coodoo GmbH (coodoo.io)
+ */
+public class ListingExporter {
+
+    private final ExportFormat format;
+    private final List<ListingField> fields = new ArrayList<>();
+
+    /**
+     * @param entityClass target entity class
+     * @param format export format
+     * @param attributes names of the attributes to write in this order, if there are none all the basic and embedded columns get written (see
+     *        {@link ListingField#isBasic()}). Unknown attributes are ignored.
+     */
+    public ListingExporter(Class<?> entityClass, ExportFormat format, String... attributes) {
+
+        EntityListingDescriptor descriptor = EntityListingDescriptor.of(entityClass);
+        this.format = format == null ? ExportFormat.CSV : format;
+
+        if (attributes == null || attributes.length == 0) {
+            for (ListingField field : descriptor.getFields()) {
+                // an association would be loaded for every row and written as toString()
+                if (field.isBasic()) {
+                    fields.add(field);
+                }
+            }
+        } else {
+            for (String attribute : attributes) {
+                ListingField field = descriptor.getField(attribute == null ? null : attribute.trim());
+                if (field != null) {
+                    fields.add(field);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all rows to the output stream, which gets flushed after every {@link ListingConfig#STREAM_BATCH_SIZE} rows. The output stream is not
+     * closed.
+     *
+     * @param rows instances of the target entity
+     * @param outputStream destination
+     * @throws IOException if writing fails
+     */
+    public void write(Iterator<?> rows, OutputStream outputStream) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writeHeader(writer);
+        }
+        long count = 0;
+        while (rows.hasNext()) {
+            Object row = rows.next();
+            if (format == ExportFormat.CSV) {
+                writeCsv(writer, row);
+            } else {
+                writeJson(writer, row);
+            }
+            if (++count % ListingConfig.STREAM_BATCH_SIZE == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeHeader(Writer writer) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(ListingConfig.EXPORT_CSV_SEPARATOR);
+            }
+            writer.write(csv(fields.get(i).getName()));
+        }
+        writer.write("\n");
+    }
+
+    private void writeCsv(Writer writer, Object row) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(ListingConfig.EXPORT_CSV_SEPARATOR);
+            }
+            Object value = fields.get(i).getValue(row);
+            if (value != null) {
+                writer.write(csv(toString(value)));
+            }
+        }
+        writer.write("\n");
+    }
+
+    private void writeJson(Writer writer, Object row) throws IOException {
+        writer.write("{");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(",");
+            }
+            writer.write(json(fields.get(i).getName()));
+            writer.write(":");
+            Object value = fields.get(i).getValue(row);
+            if (value == null || value instanceof Boolean || value instanceof Number && isFinite((Number) value)) {
+                writer.write(String.valueOf(value));
+            } else {
+                writer.write(json(toString(value)));
+            }
+        }
+        writer.write("}\n");
+    }
+
+    private static boolean isFinite(Number value) {
+        // JSON knows no NaN or Infinity
+        return !(value instanceof Double || value instanceof Float) || Double.isFinite(value.doubleValue());
+    }
+
+    private static String toString(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).toInstant().toString();
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value.toString();
+    }
+
+    private static String csv(String value) {
+        if (value.contains(ListingConfig.EXPORT_CSV_SEPARATOR) || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String json(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+}
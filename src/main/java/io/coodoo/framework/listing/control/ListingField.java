@@ -0,0 +1,133 @@
+package io.coodoo.framework.listing.control;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Map;
+
+import javax.persistence.Basic;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Id;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+
+import io.coodoo.framework.listing.boundary.annotation.ListingFilterAsString;
+import io.coodoo.framework.listing.boundary.annotation.ListingFilterIgnore;
+
+/**
+ * Entity field with its listing relevant properties resolved once, so queries don't need reflection
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public class ListingField {
+
+    private final Field field;
+    private final String name;
+    private final Class<?> type;
+    private final FieldType fieldType;
+    private final FieldType valueType;
+    private final boolean filterAsString;
+    private final boolean filterIgnore;
+    private final boolean nullable;
+    private final boolean basic;
+
+    ListingField(Field field) {
+        this.field = field;
+        this.name = field.getName();
+        this.type = field.getType();
+        this.filterAsString = field.isAnnotationPresent(ListingFilterAsString.class);
+        this.filterIgnore = field.isAnnotationPresent(ListingFilterIgnore.class);
+        // independent from the used type, a field annotated by ListingFilterAsString gets filtered as it was a plain old string
+        this.valueType = FieldType.of(type);
+        this.fieldType = filterAsString ? FieldType.STRING : valueType;
+        this.nullable = !type.isPrimitive() && !field.isAnnotationPresent(Id.class) && !field.isAnnotationPresent(EmbeddedId.class)
+                        && !(field.isAnnotationPresent(Column.class) && !field.getAnnotation(Column.class).nullable())
+                        && !(field.isAnnotationPresent(Basic.class) && !field.getAnnotation(Basic.class).optional());
+        this.basic = !field.isAnnotationPresent(ManyToOne.class) && !field.isAnnotationPresent(OneToOne.class) && !field.isAnnotationPresent(OneToMany.class)
+                        && !field.isAnnotationPresent(ManyToMany.class) && !field.isAnnotationPresent(ElementCollection.class)
+                        && !Collection.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type);
+        try {
+            field.setAccessible(true);
+        } catch (RuntimeException e) {
+            // values can't be read, but it's still fine to filter and sort by this field
+        }
+    }
+
+    /**
+     * @param entity instance of the target entity
+     * @return value of this field in the given entity
+     * @throws IllegalStateException if the value can't be read
+     */
+    public Object getValue(Object entity) {
+        try {
+            return field.get(entity);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            throw new IllegalStateException("Can't read field " + name + " of " + entity, e);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if this field holds numbers, including primitive types
+     */
+    public boolean isNumber() {
+        return Number.class.isAssignableFrom(type) || (type.isPrimitive() && type != boolean.class && type != char.class);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return type category, {@link FieldType#STRING} if annotated by {@link ListingFilterAsString}
+     */
+    public FieldType getFieldType() {
+        return fieldType;
+    }
+
+    /**
+     * @return type category of the actual field type, regardless of {@link ListingFilterAsString}
+     */
+    public FieldType getValueType() {
+        return valueType;
+    }
+
+    public boolean isFilterAsString() {
+        return filterAsString;
+    }
+
+    public boolean isFilterIgnore() {
+        return filterIgnore;
+    }
+
+    /**
+     * @return <code>true</code> if the column may hold <code>null</code>, so it is neither primitive nor an identifier nor declared mandatory by
+     *         <code>@Column(nullable = false)</code> or <code>@Basic(optional = false)</code>
+     */
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * @return <code>true</code> if the field holds a value of its own row (basic or embedded), neither an association nor a collection
+     */
+    public boolean isBasic() {
+        return basic;
+    }
+
+    @Override
+    public String toString() {
+        return "ListingField [name=" + name + ", type=" + type.getSimpleName() + ", fieldType=" + fieldType + "]";
+    }
+
+}
@@ -0,0 +1,162 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingPredicate;
+
+/**
+ * Compiled filter of a listing request: filter strings are parsed and attributes are resolved to fields once, so the same filter can be applied on the
+ * list, count, terms and stats queries of a request without doing it all over again.
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public class ListingFilter {
+
+    private final EntityListingDescriptor descriptor;
+    private FilterNode globalFilter;
+    private final List<Clause> clauses = new ArrayList<>();
+    private boolean disjunctive;
+    private ListingPredicate predicate;
+
+    private ListingFilter(Class<?> entityClass) {
+        this(EntityListingDescriptor.of(entityClass));
+    }
+
+    private ListingFilter(EntityListingDescriptor descriptor) {
+        this.descriptor = descriptor;
+    }
+
+    /**
+     * @param entityClass target entity class
+     * @param parameters listing parameters containing the filter, filter attributes and predicate
+     * @return compiled filter
+     */
+    public static ListingFilter of(Class<?> entityClass, ListingParameters parameters) {
+        return of(entityClass, parameters.getFilter(), parameters.getFilterAttributes(), parameters.getPredicate());
+    }
+
+    /**
+     * @param entityClass target entity class
+     * @param filter filter that gets applied on every field, a match in one of them is enough (disjunctive)
+     * @param filterAttributes filters on specific attributes (conjunctive, except the key {@link ListingConfig#FILTER_TYPE_DISJUNCTION} is present)
+     * @param predicate additional filters
+     * @return compiled filter
+     */
+    public static ListingFilter of(Class<?> entityClass, String filter, Map<String, String> filterAttributes, ListingPredicate predicate) {
+
+        ListingFilter listingFilter = new ListingFilter(entityClass);
+        listingFilter.globalFilter = FilterParser.parse(filter);
+
+        if (filterAttributes != null && !filterAttributes.isEmpty()) {
+
+            listingFilter.disjunctive = filterAttributes.containsKey(ListingConfig.FILTER_TYPE_DISJUNCTION);
+
+            for (Map.Entry<String, String> filterAttribute : filterAttributes.entrySet()) {
+
+                String attribute = filterAttribute.getKey();
+                FilterNode filterNode = FilterParser.parse(filterAttribute.getValue());
+                if (filterNode == null || StringUtils.equals(ListingConfig.FILTER_TYPE_DISJUNCTION, attribute)) {
+                    continue;
+                }
+                // a filter can be applied on many fields, joined by a "|" (OPERATOR_OR), those get conjuncted
+                List<ListingField> fields = ListingUtil.splitOr(attribute).stream().map(listingFilter.descriptor::getField).filter(Objects::nonNull)
+                                .collect(Collectors.toList());
+                if (!fields.isEmpty()) {
+                    listingFilter.clauses.add(new Clause(filterNode, fields));
+                }
+            }
+        }
+        listingFilter.predicate = predicate;
+        return listingFilter;
+    }
+
+    /**
+     * @param exclusion tells which filters on specific fields to leave out
+     * @return copy of this filter without the excluded filters on specific fields
+     */
+    ListingFilter without(Predicate<Clause> exclusion) {
+
+        ListingFilter listingFilter = new ListingFilter(descriptor);
+        listingFilter.globalFilter = globalFilter;
+        clauses.stream().filter(exclusion.negate()).forEach(listingFilter.clauses::add);
+        listingFilter.disjunctive = disjunctive;
+        listingFilter.predicate = predicate;
+        return listingFilter;
+    }
+
+    /**
+     * @return <code>true</code> if there is nothing to filter
+     */
+    public boolean isEmpty() {
+        return globalFilter == null && clauses.isEmpty() && predicate == null;
+    }
+
+    /**
+     * @return the filter that gets applied on every searchable field or <code>null</code>
+     */
+    FilterNode getGlobalFilter() {
+        return globalFilter;
+    }
+
+    List<ListingField> getGlobalFields() {
+        return descriptor.getSearchableFields();
+    }
+
+    /**
+     * @return filters on specific fields
+     */
+    List<Clause> getClauses() {
+        return Collections.unmodifiableList(clauses);
+    }
+
+    /**
+     * @return <code>true</code> if a match of one of the {@link #getClauses()} is enough
+     */
+    boolean isDisjunctive() {
+        return disjunctive;
+    }
+
+    ListingPredicate getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * A parsed filter and the fields it gets applied on
+     */
+    static class Clause {
+
+        private final FilterNode filter;
+        private final List<ListingField> fields;
+
+        Clause(FilterNode filter, List<ListingField> fields) {
+            this.filter = filter;
+            this.fields = fields;
+        }
+
+        FilterNode getFilter() {
+            return filter;
+        }
+
+        List<ListingField> getFields() {
+            return fields;
+        }
+
+        /**
+         * @param attribute attribute name
+         * @return <code>true</code> if this filter applies just on the given attribute
+         */
+        boolean isOn(String attribute) {
+            return fields.size() == 1 && fields.get(0).getName().equals(attribute);
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Result of listing queries that run on an executor with an entity manager of their own. Other than a plain {@link CompletableFuture}, cancelling
+ * aborts the outstanding query: if the work hasn't started yet, it doesn't start at all, otherwise the query gets cancelled by the persistence provider
+ * (if it supports it, like Hibernate's <code>Session.cancelQuery()</code>) and the worker thread gets interrupted.
+ * <p>
+ * Only cancelling this future aborts the query, stages derived from it (e.g. by <code>thenApply</code>) don't pass a cancellation back.
+ * </p>
+ *
+ * @param <R> type of the result
+ *
+ * @author coodoo GmbH (coodoo.io)
+ */
+public class ListingFuture<R> extends CompletableFuture<R> {
+
+    private Thread worker;
+    private EntityManager entityManager;
+
+    /**
+     * @param <R> type of the result
+     * @param entityManagerFactory factory of the designated persistence unit, the entity manager gets created on the executor and closed afterwards
+     * @param executor runs the queries, e.g. a <code>ManagedExecutorService</code> in a Java EE container or a virtual thread per task executor
+     * @param query queries to run on the entity manager
+     * @return future of the query result
+     */
+    public static <R> ListingFuture<R> supply(EntityManagerFactory entityManagerFactory, Executor executor, Function<EntityManager, R> query) {
+
+        ListingFuture<R> future = new ListingFuture<>();
+        try {
+            executor.execute(() -> future.run(entityManagerFactory, query));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void run(EntityManagerFactory entityManagerFactory, Function<EntityManager, R> query) {
+
+        if (isDone()) {
+            // cancelled before it started
+            return;
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            synchronized (this) {
+                this.worker = Thread.currentThread();
+                this.entityManager = entityManager;
+            }
+            if (!isDone()) {
+                complete(query.apply(entityManager));
+            }
+        } catch (Throwable e) {
+            completeExceptionally(e);
+        } finally {
+            synchronized (this) {
+                this.worker = null;
+                this.entityManager = null;
+            }
+            // a late cancellation must not leave the interrupt to the next task of a pooled thread
+            Thread.interrupted();
+            entityManager.close();
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            abort(mayInterruptIfRunning);
+        }
+        return cancelled;
+    }
+
+    private synchronized void abort(boolean interrupt) {
+        if (entityManager != null) {
+            cancelQuery(entityManager);
+        }
+        if (interrupt && worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private static void cancelQuery(EntityManager entityManager) {
+        try {
+            // Hibernate's session is meant to cancel its running query from another thread
+            Object delegate = entityManager.getDelegate();
+            delegate.getClass().getMethod("cancelQuery").invoke(delegate);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // the provider can't cancel, so it is up to the interrupt
+        }
+    }
+
+}
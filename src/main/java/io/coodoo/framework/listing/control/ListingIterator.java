@@ -0,0 +1,113 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Walks through all the rows of a listing in batches, so just one batch is kept in memory at a time.
+ * <p>
+ * The batches are selected by keyset pagination (seek method) after the last row of the previous batch. If the sort order doesn't allow a cursor (e.g.
+ * an unknown sort attribute) or contains a nullable attribute (see {@link ListingSort#isNullable()}), the batches are selected by offset instead: a
+ * seek would skip rows with <code>null</code> values, depending on where the database sorts them. Entities are loaded read-only and get detached from the entity manager as
+ * soon as the next batch is selected, so changes on them won't get persisted.
+ * </p>
+ *
+ * @param <T> The target entity
+ *
+ * @author coodoo GmbH (coodoo.io)
+ */
+public class ListingIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final EntityManager entityManager;
+    private final Class<T> entityClass;
+    private final ListingFilter filter;
+    private final String sortAttribute;
+    private final ListingSort listingSort;
+    private final int batchSize;
+
+    private List<T> batch = Collections.emptyList();
+    private int position;
+    private int offset;
+    private String cursor;
+    private boolean keyset;
+    private boolean last;
+
+    /**
+     * @param entityManager entity manager of designated persistence unit
+     * @param entityClass target entity class
+     * @param filter filter compiled for the target entity
+     * @param sortAttribute sort attributes as in {@link ListingSort#of(Class, String)}
+     * @param batchSize count of rows selected by one query
+     */
+    public ListingIterator(EntityManager entityManager, Class<T> entityClass, ListingFilter filter, String sortAttribute, int batchSize) {
+        this.entityManager = entityManager;
+        this.entityClass = entityClass;
+        this.filter = filter;
+        this.sortAttribute = sortAttribute;
+        this.listingSort = ListingSort.of(entityClass, sortAttribute);
+        // a cursor can only tell the position of every row if no sort attribute is null
+        this.keyset = !listingSort.isNullable();
+        this.batchSize = batchSize > 0 ? batchSize : ListingConfig.STREAM_BATCH_SIZE;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (position < batch.size()) {
+            return true;
+        }
+        if (last) {
+            return false;
+        }
+        fetch();
+        return position < batch.size();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return batch.get(position++);
+    }
+
+    private void fetch() {
+
+        detach();
+
+        ListingQuery<T> listingQuery = new ListingQuery<>(entityManager, entityClass).sort(sortAttribute).filterBy(filter).readOnly(true);
+        if (keyset && cursor != null) {
+            listingQuery.seek(cursor, false);
+        }
+        batch = listingQuery.list(keyset ? null : offset, batchSize);
+        position = 0;
+        offset += batch.size();
+        last = batch.size() < batchSize;
+
+        if (keyset && !batch.isEmpty()) {
+            cursor = listingSort.cursor(batch.get(batch.size() - 1));
+            // without a cursor the next batch can only be found by its offset
+            keyset = cursor != null;
+        }
+    }
+
+    private void detach() {
+        for (T entity : batch) {
+            entityManager.detach(entity);
+        }
+        batch = Collections.emptyList();
+    }
+
+    /**
+     * Detaches the entities of the current batch and stops the iteration
+     */
+    @Override
+    public void close() {
+        detach();
+        last = true;
+    }
+
+}
@@ -0,0 +1,155 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.annotation.ListingCacheable;
+
+/**
+ * Prefetches the next page of a listing in the background (see {@link ListingConfig#PREFETCH}), so it can be served from memory when it gets requested.
+ * Only read-only listings of entities annotated with {@link ListingCacheable} get prefetched: the entities of a prefetched page come detached from
+ * another entity manager, and only {@link io.coodoo.framework.listing.boundary.ListingCacheListener} drops the page as soon as an entity changes.
+ * The prefetched pages are kept in the backend of the {@link ListingResultCache} for {@link ListingConfig#PREFETCH_TTL}, so without a backend (neither
+ * the built-in one of {@link ListingConfig#CACHE_SIZE} nor one set by {@link ListingResultCache#setCache(ListingCache)}) nothing gets prefetched. Every
+ * caller gets its own copy of a prefetched page, the detached entities in it are shared and must not be changed.
+ * <p>
+ * Prefetching never delays a listing: it runs on a bounded executor of {@link ListingConfig#PREFETCH_THREADS} threads and
+ * {@link ListingConfig#PREFETCH_QUEUE} waiting prefetches, further ones are dropped. Another executor (e.g. a <code>ManagedExecutorService</code>) can be
+ * set by {@link #setExecutor(Executor)}.
+ * </p>
+ *
+ * @author coodoo GmbH (coodoo.io)
+ */
+public final class ListingPrefetch {
+
+    private static final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private static volatile Executor executor;
+
+    private ListingPrefetch() {}
+
+    /**
+     * @param executor runs the prefetches instead of the built-in bounded thread pool, <code>null</code> to get back to it
+     */
+    public static void setExecutor(Executor executor) {
+        ListingPrefetch.executor = executor;
+    }
+
+    private static Executor getExecutor() {
+        if (executor == null) {
+            synchronized (ListingPrefetch.class) {
+                if (executor == null) {
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(ListingConfig.PREFETCH_THREADS, ListingConfig.PREFETCH_THREADS, 60, TimeUnit.SECONDS,
+                                    new ArrayBlockingQueue<>(Math.max(1, ListingConfig.PREFETCH_QUEUE)), runnable -> {
+                                        Thread thread = new Thread(runnable, "listing-prefetch");
+                                        thread.setDaemon(true);
+                                        return thread;
+                                    });
+                    pool.allowCoreThreadTimeOut(true);
+                    executor = pool;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * @param entityClass target entity class
+     * @param parameters listing parameters
+     * @return key of the page or <code>null</code> if it doesn't get prefetched
+     */
+    public static String key(Class<?> entityClass, ListingParameters parameters) {
+        ListingParameters page = page(entityClass, parameters, 0);
+        return page == null ? null : key(page);
+    }
+
+    private static String key(ListingParameters page) {
+        return "prefetch\n" + ListingResultCache.signature(page);
+    }
+
+    private static ListingParameters page(Class<?> entityClass, ListingParameters parameters, int offset) {
+
+        // a prefetched page comes from another entity manager and only ListingCacheListener drops it on changes
+        if (!ListingConfig.PREFETCH || !parameters.isReadOnly() || !entityClass.isAnnotationPresent(ListingCacheable.class)
+                        || parameters.getPredicate() != null || parameters.hasCursor() || parameters.getLimit() <= 0 || ListingResultCache.getCache() == null) {
+            return null;
+        }
+        // both the page and the prefetched one are keyed by their index, no matter how they got requested
+        ListingParameters page = new ListingParameters(null, parameters.getLimit(), parameters.getSortAttribute());
+        page.setIndex(parameters.getIndex() + offset);
+        page.setFilter(parameters.getFilter());
+        for (Map.Entry<String, String> filterAttribute : parameters.getFilterAttributes().entrySet()) {
+            page.addFilterAttributes(filterAttribute.getKey(), filterAttribute.getValue());
+        }
+        page.setReadOnly(parameters.isReadOnly());
+        page.setJoinFetch(parameters.getJoinFetch());
+        page.setEntityGraph(parameters.getEntityGraph());
+        return page;
+    }
+
+    /**
+     * @param <T> type of target entity class
+     * @param entityClass target entity class
+     * @param key key of the page by {@link #key(Class, ListingParameters)}
+     * @return copy of the prefetched page or <code>null</code>
+     */
+    public static <T> List<T> get(Class<T> entityClass, String key) {
+        List<T> page = ListingResultCache.get(entityClass, key);
+        return page == null ? null : new ArrayList<>(page);
+    }
+
+    /**
+     * Prefetches the page after the given one, unless it is already prefetched, on its way or the executor is busy
+     *
+     * @param <T> type of target entity class
+     * @param entityManagerFactory factory of the designated persistence unit, the entity manager gets created on the executor and closed afterwards
+     * @param entityClass target entity class
+     * @param parameters listing parameters of the current page
+     * @param query gets the page of the listing parameters it is given
+     */
+    public static <T> void prefetchNext(EntityManagerFactory entityManagerFactory, Class<T> entityClass, ListingParameters parameters,
+                    BiFunction<EntityManager, ListingParameters, List<T>> query) {
+
+        ListingParameters next = page(entityClass, parameters, parameters.getLimit());
+        if (next == null) {
+            return;
+        }
+        String key = key(next);
+        if (ListingResultCache.get(entityClass, key) != null || !inFlight.add(entityClass.getName() + "\n" + key)) {
+            return;
+        }
+        try {
+            getExecutor().execute(() -> {
+                try {
+                    EntityManager entityManager = entityManagerFactory.createEntityManager();
+                    try {
+                        ListingResultCache.put(entityClass, key, query.apply(entityManager, next), ListingConfig.PREFETCH_TTL);
+                    } finally {
+                        entityManager.close();
+                    }
+                } catch (RuntimeException e) {
+                    // just a prefetch, the page gets queried again when requested
+                } finally {
+                    inFlight.remove(entityClass.getName() + "\n" + key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // under load prefetches get dropped
+            inFlight.remove(entityClass.getName() + "\n" + key);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package io.coodoo.framework.listing.control;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Attributes to select instead of whole entities. The selected values become a map of attribute names and values or are passed to a constructor of a
+ * result class (DTO), either way no entity gets instantiated and managed by the entity manager.
+ *
+ * @author coodoo GmbH (coodoo.io)
+ */
+public class ListingProjection {
+
+    private final List<ListingField> fields = new ArrayList<>();
+    private final Constructor<?> constructor;
+
+    private ListingProjection(List<ListingField> fields, Class<?> resultClass) {
+        this.fields.addAll(fields);
+        this.constructor = resultClass == null ? null : findConstructor(resultClass);
+    }
+
+    /**
+     * @param entityClass target entity class
+     * @param attributes names of the attributes to select, separated by "," or ";". If there are none, all columns get selected. Unknown attributes are
+     *        ignored.
+     * @param resultClass class having a constructor that takes the values of the attributes in this order, <code>null</code> to get a map
+     * @return projection of the entity
+     * @throws IllegalArgumentException if there is no matching constructor in the result class
+     */
+    public static ListingProjection of(Class<?> entityClass, String attributes, Class<?> resultClass) {
+
+        EntityListingDescriptor descriptor = EntityListingDescriptor.of(entityClass);
+        List<ListingField> fields = new ArrayList<>();
+
+        if (StringUtils.isNotBlank(attributes)) {
+            for (String attribute : attributes.split("[,;]")) {
+                ListingField field = descriptor.getField(attribute.trim());
+                if (field != null && !fields.contains(field)) {
+                    fields.add(field);
+                }
+            }
+        }
+        if (fields.isEmpty()) {
+            fields.addAll(descriptor.getFields());
+        }
+        return new ListingProjection(fields, resultClass);
+    }
+
+    private Constructor<?> findConstructor(Class<?> resultClass) {
+
+        for (Constructor<?> candidate : resultClass.getConstructors()) {
+            Class<?>[] types = candidate.getParameterTypes();
+            if (types.length != fields.size()) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < types.length && matches; i++) {
+                matches = ClassUtils.isAssignable(fields.get(i).getType(), types[i], true);
+            }
+            if (matches) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("No public constructor of " + resultClass.getName() + " takes the attributes " + getAttributes());
+    }
+
+    /**
+     * @return fields to select in this order
+     */
+    public List<ListingField> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * @return names of the attributes to select in this order
+     */
+    public List<String> getAttributes() {
+        List<String> attributes = new ArrayList<>();
+        fields.forEach(field -> attributes.add(field.getName()));
+        return attributes;
+    }
+
+    /**
+     * @param values selected values in the order of {@link #getFields()}, additional values are ignored
+     * @return instance of the result class or a map of attribute names and values
+     * @throws IllegalStateException if the result class can't be instantiated
+     */
+    public Object toResult(Object[] values) {
+
+        if (constructor == null) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                result.put(fields.get(i).getName(), values[i]);
+            }
+            return result;
+        }
+        try {
+            return constructor.newInstance(values.length == fields.size() ? values : Arrays.copyOf(values, fields.size()));
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | IllegalArgumentException e) {
+            throw new IllegalStateException("Can't create " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+}
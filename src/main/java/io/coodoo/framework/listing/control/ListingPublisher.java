@@ -0,0 +1,216 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Publishes all the rows of a listing to subscribers as they request them (backpressure). Every subscription gets an entity manager of its own and
+ * walks through the rows by a {@link ListingIterator}, so the next batch is only selected when the subscriber has requested more rows than the current
+ * batch holds. Cancelling a subscription closes the iterator and the entity manager.
+ * <p>
+ * The interfaces {@link Subscriber} and {@link Subscription} have the shape of <code>java.util.concurrent.Flow</code> (Java 9), so they can be adapted
+ * one to one. All signals of a subscription are delivered one after another on the executor.
+ * </p>
+ *
+ * @param <T> The target entity
+ *
+ * @author coodoo GmbH (coodoo.io)
+ */
+public class ListingPublisher<T> {
+
+    /**
+     * Receiver of the rows, see <code>java.util.concurrent.Flow.Subscriber</code>
+     *
+     * @param <T> The target entity
+     */
+    public interface Subscriber<T> {
+
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    /**
+     * Link between the publisher and one subscriber, see <code>java.util.concurrent.Flow.Subscription</code>
+     */
+    public interface Subscription {
+
+        /**
+         * @param n count of further rows to deliver, must be positive
+         */
+        void request(long n);
+
+        /**
+         * Stops delivering rows and releases the entity manager
+         */
+        void cancel();
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Class<T> entityClass;
+    private final ListingFilter filter;
+    private final String sortAttribute;
+    private final int batchSize;
+    private final Executor executor;
+
+    /**
+     * @param entityManagerFactory factory of the designated persistence unit to create an entity manager per subscription
+     * @param entityClass target entity class
+     * @param filter filter compiled for the target entity
+     * @param sortAttribute sort attributes as in {@link ListingSort#of(Class, String)}
+     * @param batchSize count of rows selected by one query
+     * @param executor delivers the rows to the subscribers
+     */
+    public ListingPublisher(EntityManagerFactory entityManagerFactory, Class<T> entityClass, ListingFilter filter, String sortAttribute, int batchSize,
+                    Executor executor) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityClass = entityClass;
+        this.filter = filter;
+        this.sortAttribute = sortAttribute;
+        this.batchSize = batchSize;
+        this.executor = executor;
+    }
+
+    /**
+     * @param subscriber receives the rows as requested, starting with {@link Subscriber#onSubscribe(Subscription)}
+     */
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        new ListingSubscription(subscriber).signal();
+    }
+
+    private class ListingSubscription implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger signals = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private boolean subscribed;
+        private boolean done;
+        private EntityManager entityManager;
+        private ListingIterator<T> iterator;
+
+        private ListingSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " rows, but it must be positive");
+            } else {
+                // the demand stays at Long.MAX_VALUE once reached, that means unbounded
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            signal();
+        }
+
+        private void signal() {
+            // only one drain at a time, all the others just tell it to go on
+            if (signals.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // rejected by the executor
+                    signals.set(0);
+                    if (!subscribed) {
+                        subscribed = true;
+                        subscriber.onSubscribe(this);
+                    }
+                    finish(e);
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                drainDemand();
+                missed = signals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainDemand() {
+
+            if (done) {
+                return;
+            }
+            try {
+                if (!subscribed) {
+                    subscribed = true;
+                    subscriber.onSubscribe(this);
+                }
+                while (!cancelled && invalidRequest == null && demand.get() > 0) {
+                    if (iterator == null) {
+                        entityManager = entityManagerFactory.createEntityManager();
+                        iterator = new ListingIterator<>(entityManager, entityClass, filter, sortAttribute, batchSize);
+                    }
+                    if (!iterator.hasNext()) {
+                        finish(null);
+                        return;
+                    }
+                    T next = iterator.next();
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    subscriber.onNext(next);
+                }
+                if (invalidRequest != null) {
+                    finish(invalidRequest);
+                } else if (cancelled) {
+                    done = true;
+                    release();
+                }
+            } catch (RuntimeException e) {
+                finish(e);
+            }
+        }
+
+        private void finish(Throwable error) {
+            if (done) {
+                return;
+            }
+            done = true;
+            release();
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (error == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(error);
+            }
+        }
+
+        private void release() {
+            if (iterator != null) {
+                iterator.close();
+                iterator = null;
+            }
+            if (entityManager != null) {
+                entityManager.close();
+                entityManager = null;
+            }
+        }
+    }
+
+}
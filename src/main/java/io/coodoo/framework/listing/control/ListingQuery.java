@@ -1,29 +1,45 @@
 package io.coodoo.framework.listing.control;
 
-import java.lang.reflect.Field;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityGraph;
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.FetchParent;
+import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.SingularAttribute;
 
 import org.apache.commons.lang3.StringUtils;
 
 import io.coodoo.framework.listing.boundary.ListingPredicate;
 import io.coodoo.framework.listing.boundary.Stats;
 import io.coodoo.framework.listing.boundary.Term;
-import io.coodoo.framework.listing.boundary.annotation.ListingFilterAsString;
+import io.coodoo.framework.listing.control.ListingFilter.Clause;
 
 /**
  * Creates a dynamic JPA query using Criteria API considering optional fields, e.g. a filter for attributes, sorting and result limit.
@@ -35,16 +51,31 @@ import io.coodoo.framework.listing.boundary.annotation.ListingFilterAsString;
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class ListingQuery<T> {
 
+    private static final List<String> STATS_OPERATIONS = Arrays.asList("count", "min", "max", "avg", "sum");
+
     private EntityManager entityManager;
     private CriteriaBuilder criteriaBuilder;
     private CriteriaQuery query;
     private Root<T> root;
     private Class<T> domainClass;
+    private EntityListingDescriptor descriptor;
     private List<Predicate> whereConstraints;
+    private ListingSort listingSort;
+    private Map<ParameterExpression, Object> parameterValues = new HashMap<>();
+    private boolean countOver;
+    private Long totalCount;
+    private boolean probeNext;
+    private Boolean hasMore;
+    private ListingProjection projection;
+    private boolean readOnly;
+    private List<String> joinFetches = new ArrayList<>();
+    private boolean joinFetched;
+    private EntityGraph<?> entityGraph;
 
     public ListingQuery(EntityManager entityManager, Class<T> domainClass) {
         this.entityManager = entityManager;
         this.domainClass = domainClass;
+        this.descriptor = EntityListingDescriptor.of(domainClass);
         this.criteriaBuilder = entityManager.getCriteriaBuilder();
         this.query = criteriaBuilder.createQuery();
         this.root = query.from(domainClass);
@@ -52,52 +83,35 @@ public class ListingQuery<T> {
     }
 
     public ListingQuery<T> filterAllAttributes(String filter) {
-        if (!StringUtils.isBlank(filter)) {
-
-            Map<String, String> filterAttributes = new HashMap<>();
-            filterAttributes.put(ListingConfig.FILTER_TYPE_DISJUNCTION, "this just enables an OR-statement for all the fields");
-
-            ListingUtil.getFields(domainClass).forEach(field -> filterAttributes.put(field.getName(), filter));
-            return filterByAttributes(filterAttributes);
-        }
-        return this;
+        return filterBy(ListingFilter.of(domainClass, filter, null, null));
     }
 
     public ListingQuery<T> filterByAttributes(Map<String, String> filterAttributes) {
-        if (filterAttributes != null && !filterAttributes.isEmpty()) {
-
-            ListingPredicate listingPredicate = new ListingPredicate().and();
-
-            for (String attribute : filterAttributes.keySet()) {
+        return filterBy(ListingFilter.of(domainClass, null, filterAttributes, null));
+    }
 
-                if (StringUtils.equals(ListingConfig.FILTER_TYPE_DISJUNCTION, attribute)) {
-                    listingPredicate = listingPredicate.or(); // changing filter to disjunctive
-                }
-                String filter = filterAttributes.get(attribute);
-
-                if (StringUtils.contains(attribute, ListingConfig.OPERATOR_OR)) {
-                    // a filter can be applied on many fields, joined by a "|" (OPERATOR_OR), those get conjuncted
-                    List<String> orAttributes = ListingUtil.splitOr(attribute);
-
-                    // in order to filter conjunctive in different fields with different filters its got to be nasty...
-                    if (StringUtils.contains(filter, ListingConfig.OPERATOR_AND) || StringUtils.contains(filter, ListingConfig.OPERATOR_AND_WORD)) {
-                        List<String> andfilters = ListingUtil
-                                        .splitAnd(filter.replaceAll(ListingUtil.escape(ListingConfig.OPERATOR_AND_WORD), ListingConfig.OPERATOR_AND));
-                        // ...ok, just see it like this: WHERE (fieldA = filter1 OR fieldB = filter1) AND (fieldA = filter2 OR fieldB = filter2)
-                        listingPredicate.addPredicate(new ListingPredicate().and()
-                                        .predicates(andfilters.stream().map(andfilter -> new ListingPredicate().or().predicates(orAttributes.stream()
-                                                        .map(orAttribute -> createListingPredicate(orAttribute, andfilter)).collect(Collectors.toList())))
-                                                        .collect(Collectors.toList())));
-                    } else {
-                        listingPredicate.addPredicate(new ListingPredicate().or().predicates(
-                                        orAttributes.stream().map(orAttribute -> createListingPredicate(orAttribute, filter)).collect(Collectors.toList())));
-                    }
-                } else {
-                    // just one attribute for one filter
-                    listingPredicate.addPredicate(createListingPredicate(attribute, filter));
-                }
+    /**
+     * Applies a compiled filter, so it can be shared by all the queries of a listing request
+     * 
+     * @param listingFilter filter compiled for the same target entity
+     * @return this
+     */
+    public ListingQuery<T> filterBy(ListingFilter listingFilter) {
+        if (listingFilter != null) {
+
+            if (listingFilter.getGlobalFilter() != null) {
+                // disjunctive filter on the whole table
+                List<Predicate> predicates = new ArrayList<>();
+                listingFilter.getGlobalFields().forEach(field -> add(predicates, createPredicate(listingFilter.getGlobalFilter(), field)));
+                add(whereConstraints, combine(true, predicates));
             }
-            addToWhereConstraint(listingPredicate);
+            // column specific filter
+            List<Predicate> predicates = new ArrayList<>();
+            listingFilter.getClauses().forEach(clause -> add(predicates, createPredicate(clause.getFilter(), clause.getFields())));
+            add(whereConstraints, combine(listingFilter.isDisjunctive(), predicates));
+
+            // additional filters
+            filterByPredicate(listingFilter.getPredicate());
         }
         return this;
     }
@@ -113,14 +127,13 @@ public class ListingQuery<T> {
 
             Predicate predicate = null;
             List<ListingPredicate> filters = new ArrayList<>();
-            Map<String, Field> fieldMap = ListingUtil.getFields(domainClass, true).stream().collect(Collectors.toMap(field -> field.getName(), field -> field));
 
             if (listingPredicate.hasPredicates()) {
                 filters.addAll(listingPredicate.getPredicates());
             } else {
                 filters.add(new ListingPredicate().filter(listingPredicate.getAttribute(), listingPredicate.getFilter()));
             }
-            predicate = filterByPredicateTree(listingPredicate.isDisjunctive(), listingPredicate.isNegation(), filters, fieldMap);
+            predicate = filterByPredicateTree(listingPredicate.isDisjunctive(), listingPredicate.isNegation(), filters);
 
             if (predicate != null) {
                 if (listingPredicate.isNegation()) {
@@ -131,42 +144,7 @@ public class ListingQuery<T> {
         }
     }
 
-    private ListingPredicate createListingPredicate(String attribute, String filter) {
-
-        // the AND is mightier than the OR, so we check it first and in case there are some, they get put into use, replaced and this method is called
-        // recursively to proceed with the OR
-        if (StringUtils.contains(filter, ListingConfig.OPERATOR_AND) || StringUtils.contains(filter, ListingConfig.OPERATOR_AND_WORD)) {
-
-            List<String> andFilters = ListingUtil.splitAnd(filter.replaceAll(ListingUtil.escape(ListingConfig.OPERATOR_AND_WORD), ListingConfig.OPERATOR_AND));
-            // we don't expect as many AND-Predicates as we do for OR-Predicates, so we don't need a special case here
-            return new ListingPredicate().and()
-                            .predicates(andFilters.stream().map(andfilter -> createListingPredicate(attribute, andfilter)).collect(Collectors.toList()));
-        }
-        if (StringUtils.contains(filter, ListingConfig.OPERATOR_OR) || StringUtils.contains(filter, ListingConfig.OPERATOR_OR_WORD)) {
-
-            List<String> orFilters = ListingUtil.splitOr(filter.replaceAll(ListingUtil.escape(ListingConfig.OPERATOR_OR_WORD), ListingConfig.OPERATOR_OR));
-            if (orFilters.size() > ListingConfig.OR_LIMIT) {
-                // Too many OR-Predicates can cause a stack overflow, so higher numbers get processed in an IN statement
-                return new ListingPredicate().in().filter(attribute,
-                                filter.replaceAll(ListingUtil.escape(ListingConfig.OPERATOR_OR_WORD), ListingConfig.OPERATOR_OR));
-            }
-            return new ListingPredicate().or()
-                            .predicates(orFilters.stream().map(orfilter -> createListingPredicateFilter(attribute, orfilter)).collect(Collectors.toList()));
-        }
-        return createListingPredicateFilter(attribute, filter);
-    }
-
-    private ListingPredicate createListingPredicateFilter(String attribute, String filter) {
-        if (filter.startsWith(ListingConfig.OPERATOR_NOT)) {
-            return new ListingPredicate().not().filter(attribute, filter.replaceFirst(ListingConfig.OPERATOR_NOT, ""));
-        }
-        if (filter.startsWith(ListingConfig.OPERATOR_NOT_WORD)) {
-            return new ListingPredicate().not().filter(attribute, filter.replaceFirst(ListingConfig.OPERATOR_NOT_WORD, ""));
-        }
-        return new ListingPredicate().filter(attribute, filter);
-    }
-
-    private Predicate filterByPredicateTree(boolean disjunctive, boolean negation, List<ListingPredicate> listingPredicates, Map<String, Field> fieldMap) {
+    private Predicate filterByPredicateTree(boolean disjunctive, boolean negation, List<ListingPredicate> listingPredicates) {
 
         if (listingPredicates != null && !listingPredicates.isEmpty()) {
 
@@ -177,19 +155,19 @@ public class ListingQuery<T> {
                 if (listingPredicate.hasPredicates()) {
 
                     // process child predicates
-                    predicate = filterByPredicateTree(listingPredicate.isDisjunctive(), listingPredicate.isNegation(), listingPredicate.getPredicates(),
-                                    fieldMap);
+                    predicate = filterByPredicateTree(listingPredicate.isDisjunctive(), listingPredicate.isNegation(), listingPredicate.getPredicates());
 
                 } else if (StringUtils.isNoneEmpty(listingPredicate.getAttribute()) && StringUtils.isNoneEmpty(listingPredicate.getFilter())) {
 
-                    if (!fieldMap.containsKey(listingPredicate.getAttribute())) {
+                    ListingField field = descriptor.getField(listingPredicate.getAttribute());
+                    if (field == null) {
                         continue; // given fieldName does not exist in domainClass
                     }
                     // add predicate
                     if (listingPredicate.isIn()) {
-                        predicate = createInPredicate(ListingUtil.splitOr(listingPredicate.getFilter()), fieldMap.get(listingPredicate.getAttribute()));
+                        predicate = createInPredicate(ListingUtil.splitOr(listingPredicate.getFilter()), field);
                     } else {
-                        predicate = createPredicate(listingPredicate.getFilter(), fieldMap.get(listingPredicate.getAttribute()));
+                        predicate = createPredicate(FilterParser.term(listingPredicate.getFilter()), field);
                     }
                 }
                 if (predicate != null) {
@@ -216,319 +194,203 @@ public class ListingQuery<T> {
         return null;
     }
 
-    private Predicate createPredicate(String filter, Field field) {
+    /**
+     * In order to filter conjunctive in different fields with the same filter its got to be nasty, just see it like this: <br>
+     * <code>WHERE (fieldA = filter1 OR fieldB = filter1) AND (fieldA = filter2 OR fieldB = filter2)</code>
+     */
+    private Predicate createPredicate(FilterNode filter, List<ListingField> fields) {
 
-        final String fieldName = field.getName();
-        String simpleName = field.getType().getSimpleName();
-
-        // Nulls
-        if (ListingUtil.matches(filter, ListingConfig.OPERATOR_NULL)) {
-            return criteriaBuilder.isNull(root.get(fieldName));
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getType() == FilterNode.Type.AND) {
+            filter.getChildren().forEach(child -> add(predicates, createPredicate(child, fields)));
+            return combine(false, predicates);
         }
+        fields.forEach(field -> add(predicates, createPredicate(filter, field)));
+        return combine(true, predicates);
+    }
 
-        if (field.isAnnotationPresent(ListingFilterAsString.class)) {
-            simpleName = String.class.getSimpleName();
-        }
-
-        switch (simpleName) {
-
-            case "String":
-
-                // quoted values needs an exact match
-                if (ListingUtil.isQuoted(filter)) {
-                    return criteriaBuilder.equal(root.get(fieldName).as(String.class), ListingUtil.removeQuotes(filter));
-                }
-                return criteriaBuilder.like(criteriaBuilder.lower(root.get(fieldName).as(String.class)), ListingUtil.likeValue(filter));
-
-            // case "LocalDate": Doesn't work in JPA 2.0...
-            case "LocalDateTime":
-
-                if (ListingUtil.validDate(filter)) {
-                    return criteriaBuilder.between(root.get(fieldName), ListingUtil.parseDateTime(filter, false), ListingUtil.parseDateTime(filter, true));
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LT) || filter.startsWith(ListingConfig.OPERATOR_LT_WORD)) {
-                    String ltFilter = filter.replace(ListingConfig.OPERATOR_LT, "").replace(ListingConfig.OPERATOR_LT_WORD, "");
-                    if (ListingUtil.validDate(ltFilter)) {
-                        return criteriaBuilder.lessThan(root.get(fieldName), ListingUtil.parseDateTime(ltFilter, false));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_GT) || filter.startsWith(ListingConfig.OPERATOR_GT_WORD)) {
-                    String gtFilter = filter.replace(ListingConfig.OPERATOR_GT, "").replace(ListingConfig.OPERATOR_GT_WORD, "");
-                    if (ListingUtil.validDate(gtFilter)) {
-                        return criteriaBuilder.greaterThan(root.get(fieldName), ListingUtil.parseDateTime(gtFilter, true));
-                    }
-                }
-                Matcher dateTimeRange = Pattern.compile(ListingUtil.rangePatternDate()).matcher(filter);
-                if (dateTimeRange.find()) {
-                    return criteriaBuilder.between(root.get(fieldName), ListingUtil.parseDateTime(dateTimeRange.group(1), false),
-                                    ListingUtil.parseDateTime(dateTimeRange.group(8), true));
-                }
-                break;
-
-            case "Date":
+    private Predicate createPredicate(FilterNode filter, ListingField field) {
 
-                if (ListingUtil.validDate(filter)) {
-                    return criteriaBuilder.between(root.get(fieldName), ListingUtil.parseDate(filter, false), ListingUtil.parseDate(filter, true));
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LT) || filter.startsWith(ListingConfig.OPERATOR_LT_WORD)) {
-                    String ltFilter = filter.replace(ListingConfig.OPERATOR_LT, "").replace(ListingConfig.OPERATOR_LT_WORD, "");
-                    if (ListingUtil.validDate(ltFilter)) {
-                        return criteriaBuilder.lessThan(root.get(fieldName), ListingUtil.parseDate(ltFilter, false));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_GT) || filter.startsWith(ListingConfig.OPERATOR_GT_WORD)) {
-                    String gtFilter = filter.replace(ListingConfig.OPERATOR_GT, "").replace(ListingConfig.OPERATOR_GT_WORD, "");
-                    if (ListingUtil.validDate(gtFilter)) {
-                        return criteriaBuilder.greaterThan(root.get(fieldName), ListingUtil.parseDate(gtFilter, true));
-                    }
-                }
-                Matcher dateRange = Pattern.compile(ListingUtil.rangePatternDate()).matcher(filter);
-                if (dateRange.find()) {
-                    return criteriaBuilder.between(root.get(fieldName), ListingUtil.parseDate(dateRange.group(1), false),
-                                    ListingUtil.parseDate(dateRange.group(8), true));
-                }
-                break;
+        List<Predicate> predicates = new ArrayList<>();
+        switch (filter.getType()) {
 
-            case "Long":
-            case "long":
+            case AND:
+                filter.getChildren().forEach(child -> add(predicates, createPredicate(child, field)));
+                return combine(false, predicates);
 
-                if (ListingUtil.validLong(filter)) {
-                    return criteriaBuilder.equal(root.get(fieldName), Long.valueOf(filter));
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LIKE) || filter.startsWith(ListingConfig.OPERATOR_LIKE_WORD)) {
-                    String likeFilter = filter.replace(ListingConfig.OPERATOR_LIKE, "").replace(ListingConfig.OPERATOR_LIKE_WORD, "");
-                    if (ListingUtil.validLong(likeFilter)) {
-                        return criteriaBuilder.like(root.get(fieldName).as(String.class), ListingUtil.likeValue(likeFilter));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LT) || filter.startsWith(ListingConfig.OPERATOR_LT_WORD)) {
-                    String ltFilter = filter.replace(ListingConfig.OPERATOR_LT, "").replace(ListingConfig.OPERATOR_LT_WORD, "");
-                    if (ListingUtil.validLong(ltFilter)) {
-                        return criteriaBuilder.lessThan(root.get(fieldName), Long.valueOf(ltFilter));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_GT) || filter.startsWith(ListingConfig.OPERATOR_GT_WORD)) {
-                    String gtFilter = filter.replace(ListingConfig.OPERATOR_GT, "").replace(ListingConfig.OPERATOR_GT_WORD, "");
-                    if (ListingUtil.validLong(gtFilter)) {
-                        return criteriaBuilder.greaterThan(root.get(fieldName), Long.valueOf(gtFilter));
+            case OR:
+                if (filter.getChildren().size() > ListingConfig.OR_LIMIT) {
+                    // Too many OR-Predicates can cause a stack overflow, so plain terms get processed in an IN statement
+                    List<String> inList = new ArrayList<>();
+                    for (FilterNode child : filter.getChildren()) {
+                        if (child.isTerm() && !child.getTerm().isNull()) {
+                            inList.add(child.getTerm().getUnquotedValue());
+                        } else {
+                            add(predicates, createPredicate(child, field));
+                        }
                     }
+                    add(predicates, createInPredicate(inList, field));
+                } else {
+                    filter.getChildren().forEach(child -> add(predicates, createPredicate(child, field)));
                 }
-                Matcher longRange = Pattern.compile(ListingUtil.rangePatternLong()).matcher(filter);
-                if (longRange.find()) {
-                    return criteriaBuilder.between(root.get(fieldName), Long.valueOf(longRange.group(1)), Long.valueOf(longRange.group(3)));
-                }
-                break;
+                return combine(true, predicates);
 
-            case "Integer":
-            case "int":
+            case NOT:
+                Predicate predicate = createPredicate(filter.getChildren().get(0), field);
+                return predicate == null ? null : criteriaBuilder.not(predicate);
 
-                if (ListingUtil.validInt(filter)) {
-                    return criteriaBuilder.equal(root.get(fieldName), Integer.valueOf(filter));
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LIKE) || filter.startsWith(ListingConfig.OPERATOR_LIKE_WORD)) {
-                    String likeFilter = filter.replace(ListingConfig.OPERATOR_LIKE, "").replace(ListingConfig.OPERATOR_LIKE_WORD, "");
-                    if (ListingUtil.validInt(likeFilter)) {
-                        return criteriaBuilder.like(root.get(fieldName).as(String.class), ListingUtil.likeValue(likeFilter));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LT) || filter.startsWith(ListingConfig.OPERATOR_LT_WORD)) {
-                    String ltFilter = filter.replace(ListingConfig.OPERATOR_LT, "").replace(ListingConfig.OPERATOR_LT_WORD, "");
-                    if (ListingUtil.validInt(ltFilter)) {
-                        return criteriaBuilder.lessThan(root.get(fieldName), Integer.valueOf(ltFilter));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_GT) || filter.startsWith(ListingConfig.OPERATOR_GT_WORD)) {
-                    String gtFilter = filter.replace(ListingConfig.OPERATOR_GT, "").replace(ListingConfig.OPERATOR_GT_WORD, "");
-                    if (ListingUtil.validInt(gtFilter)) {
-                        return criteriaBuilder.greaterThan(root.get(fieldName), Integer.valueOf(gtFilter));
-                    }
-                }
-                Matcher intRange = Pattern.compile(ListingUtil.rangePatternInt()).matcher(filter);
-                if (intRange.find()) {
-                    return criteriaBuilder.between(root.get(fieldName), Integer.valueOf(intRange.group(1)), Integer.valueOf(intRange.group(3)));
-                }
-                break;
-
-            case "Short":
-            case "short":
+            default:
+                return createPredicate(filter.getTerm(), field);
+        }
+    }
 
-                if (ListingUtil.validShort(filter)) {
-                    return criteriaBuilder.equal(root.get(fieldName), Short.valueOf(filter));
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LIKE) || filter.startsWith(ListingConfig.OPERATOR_LIKE_WORD)) {
-                    String likeFilter = filter.replace(ListingConfig.OPERATOR_LIKE, "").replace(ListingConfig.OPERATOR_LIKE_WORD, "");
-                    if (ListingUtil.validShort(likeFilter)) {
-                        return criteriaBuilder.like(root.get(fieldName).as(String.class), ListingUtil.likeValue(likeFilter));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LT) || filter.startsWith(ListingConfig.OPERATOR_LT_WORD)) {
-                    String ltFilter = filter.replace(ListingConfig.OPERATOR_LT, "").replace(ListingConfig.OPERATOR_LT_WORD, "");
-                    if (ListingUtil.validShort(ltFilter)) {
-                        return criteriaBuilder.lessThan(root.get(fieldName), Short.valueOf(ltFilter));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_GT) || filter.startsWith(ListingConfig.OPERATOR_GT_WORD)) {
-                    String gtFilter = filter.replace(ListingConfig.OPERATOR_GT, "").replace(ListingConfig.OPERATOR_GT_WORD, "");
-                    if (ListingUtil.validShort(gtFilter)) {
-                        return criteriaBuilder.greaterThan(root.get(fieldName), Short.valueOf(gtFilter));
-                    }
-                }
-                Matcher shortRange = Pattern.compile(ListingUtil.rangePatternShort()).matcher(filter);
-                if (shortRange.find()) {
-                    return criteriaBuilder.between(root.get(fieldName), Short.valueOf(shortRange.group(1)), Short.valueOf(shortRange.group(3)));
-                }
-                break;
+    private Predicate createPredicate(FilterTerm term, ListingField field) {
 
-            case "Float":
-            case "float":
+        if (term == null) {
+            return null;
+        }
+        Path path = root.get(field.getName());
 
-                if (ListingUtil.validFloat(filter)) {
-                    return criteriaBuilder.equal(root.get(fieldName), toFloat(filter));
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LIKE) || filter.startsWith(ListingConfig.OPERATOR_LIKE_WORD)) {
-                    String likeFilter = filter.replace(ListingConfig.OPERATOR_LIKE, "").replace(ListingConfig.OPERATOR_LIKE_WORD, "");
-                    if (ListingUtil.validFloat(likeFilter)) {
-                        return criteriaBuilder.like(root.get(fieldName).as(String.class), ListingUtil.likeValue(likeFilter));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LT) || filter.startsWith(ListingConfig.OPERATOR_LT_WORD)) {
-                    String ltFilter = filter.replace(ListingConfig.OPERATOR_LT, "").replace(ListingConfig.OPERATOR_LT_WORD, "");
-                    if (ListingUtil.validFloat(ltFilter)) {
-                        return criteriaBuilder.lessThan(root.get(fieldName), toFloat(ltFilter));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_GT) || filter.startsWith(ListingConfig.OPERATOR_GT_WORD)) {
-                    String gtFilter = filter.replace(ListingConfig.OPERATOR_GT, "").replace(ListingConfig.OPERATOR_GT_WORD, "");
-                    if (ListingUtil.validFloat(gtFilter)) {
-                        return criteriaBuilder.greaterThan(root.get(fieldName), toFloat(gtFilter));
-                    }
+        // Nulls
+        if (term.isNull()) {
+            return criteriaBuilder.isNull(path);
+        }
+        if (field.getFieldType() == FieldType.ENUM) {
+
+            // quoted values needs an exact match
+            if (term.isQuoted()) {
+                try {
+                    Enum enumValue = Enum.valueOf((Class<Enum>) field.getType(), term.getUnquotedValue());
+                    return criteriaBuilder.equal(path, parameter(enumValue));
+                } catch (IllegalArgumentException e) {
                 }
-                Matcher floatRange = Pattern.compile(ListingUtil.rangePatternFloat()).matcher(filter);
-                if (floatRange.find()) {
-                    return criteriaBuilder.between(root.get(fieldName), toFloat(floatRange.group(1)), toFloat(floatRange.group(3)));
+            }
+            Predicate possibleEnumValues = criteriaBuilder.disjunction();
+            for (Object enumValue : field.getType().getEnumConstants()) {
+                if (enumValue.toString().toUpperCase().contains(term.getValue().toUpperCase())) {
+                    Predicate possibleEnumValue = criteriaBuilder.equal(path, parameter(enumValue));
+                    possibleEnumValues = criteriaBuilder.or(possibleEnumValues, possibleEnumValue);
                 }
-                break;
-
-            case "Double":
-            case "double":
+            }
+            return criteriaBuilder.and(possibleEnumValues);
+        }
 
-                if (ListingUtil.validDouble(filter)) {
-                    return criteriaBuilder.equal(root.get(fieldName), toDouble(filter));
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LIKE) || filter.startsWith(ListingConfig.OPERATOR_LIKE_WORD)) {
-                    String likeFilter = filter.replace(ListingConfig.OPERATOR_LIKE, "").replace(ListingConfig.OPERATOR_LIKE_WORD, "");
-                    if (ListingUtil.validDouble(likeFilter)) {
-                        return criteriaBuilder.like(root.get(fieldName).as(String.class), ListingUtil.likeValue(likeFilter));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_LT) || filter.startsWith(ListingConfig.OPERATOR_LT_WORD)) {
-                    String ltFilter = filter.replace(ListingConfig.OPERATOR_LT, "").replace(ListingConfig.OPERATOR_LT_WORD, "");
-                    if (ListingUtil.validDouble(ltFilter)) {
-                        return criteriaBuilder.lessThan(root.get(fieldName), toDouble(ltFilter));
-                    }
-                }
-                if (filter.startsWith(ListingConfig.OPERATOR_GT) || filter.startsWith(ListingConfig.OPERATOR_GT_WORD)) {
-                    String gtFilter = filter.replace(ListingConfig.OPERATOR_GT, "").replace(ListingConfig.OPERATOR_GT_WORD, "");
-                    if (ListingUtil.validDouble(gtFilter)) {
-                        return criteriaBuilder.greaterThan(root.get(fieldName), toDouble(gtFilter));
-                    }
+        FilterComparison comparison = term.getComparison(field.getFieldType());
+        if (comparison == null) {
+            return null;
+        }
+        switch (comparison.getOperator()) {
+            case EQUAL:
+                if (field.getFieldType() == FieldType.STRING) {
+                    return criteriaBuilder.equal(path.as(String.class), parameter(comparison.getValue()));
                 }
-                Matcher doubleRange = Pattern.compile(ListingUtil.rangePatternDouble()).matcher(filter);
-                if (doubleRange.find()) {
-                    return criteriaBuilder.between(root.get(fieldName), toDouble(doubleRange.group(1)), toDouble(doubleRange.group(3)));
+                return criteriaBuilder.equal(path, parameter(comparison.getValue()));
+            case LIKE:
+                if (field.getFieldType() == FieldType.STRING) {
+                    return criteriaBuilder.like(criteriaBuilder.lower(path.as(String.class)), parameter(comparison.getValue()));
                 }
-                break;
-
-            case "Boolean":
-            case "boolean":
-
-                if (ListingConfig.BOOLEAN_TRUE.equalsIgnoreCase(filter) || ListingConfig.BOOLEAN_FALSE.equalsIgnoreCase(filter)) {
-
-                    Boolean booleanValue = ListingConfig.BOOLEAN_TRUE.equalsIgnoreCase(filter);
-                    return criteriaBuilder.equal(root.get(fieldName), booleanValue);
-                }
-                break;
-
+                return criteriaBuilder.like(path.as(String.class), parameter(comparison.getValue()));
+            case LESS_THAN:
+                return criteriaBuilder.lessThan(path, parameter(comparison.getValue()));
+            case GREATER_THAN:
+                return criteriaBuilder.greaterThan(path, parameter(comparison.getValue()));
+            case BETWEEN:
+                return criteriaBuilder.between(path, parameter(comparison.getValue()), parameter(comparison.getToValue()));
             default:
+                return null;
+        }
+    }
 
-                // Enum
-                if (field.getType().isEnum()) {
+    private Predicate combine(boolean disjunctive, List<Predicate> predicates) {
 
-                    // quoted values needs an exact match
-                    if (ListingUtil.isQuoted(filter)) {
-                        try {
-                            Enum enumValue = Enum.valueOf((Class<Enum>) field.getType(), ListingUtil.removeQuotes(filter));
-                            return criteriaBuilder.equal(root.get(fieldName), enumValue);
-                        } catch (IllegalArgumentException e) {
-                        }
-                    }
+        if (predicates.isEmpty()) {
+            return null;
+        }
+        if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        Predicate[] predicateArray = predicates.toArray(new Predicate[predicates.size()]);
+        return disjunctive ? criteriaBuilder.or(predicateArray) : criteriaBuilder.and(predicateArray);
+    }
 
-                    Predicate possibleEnumValues = criteriaBuilder.disjunction();
-                    for (Object enumValue : field.getType().getEnumConstants()) {
-                        if (enumValue.toString().toUpperCase().contains(((String) filter).toUpperCase())) {
-                            Predicate possibleEnumValue = criteriaBuilder.equal(root.get(fieldName), enumValue);
-                            possibleEnumValues = criteriaBuilder.or(possibleEnumValues, possibleEnumValue);
-                        }
-                    }
-                    return criteriaBuilder.and(possibleEnumValues);
-                }
-                break;
+    private static void add(List<Predicate> predicates, Predicate predicate) {
+        if (predicate != null) {
+            predicates.add(predicate);
         }
-        return null;
     }
 
-    private Predicate createInPredicate(List<String> inList, Field field) {
+    private Predicate createInPredicate(List<String> inList, ListingField field) {
 
         List<?> list = null;
 
-        switch (field.getType().getSimpleName()) {
+        switch (field.getValueType()) {
 
-            case "String":
+            case STRING:
                 list = inList;
                 break;
-            case "Long":
-            case "long":
+            case LONG:
                 list = inList.stream().filter(x -> ListingUtil.validLong(x)).map(Long::valueOf).collect(Collectors.toList());
                 break;
-            case "Integer":
-            case "int":
+            case INTEGER:
                 list = inList.stream().filter(x -> ListingUtil.validInt(x)).map(Integer::valueOf).collect(Collectors.toList());
                 break;
-            case "Short":
-            case "short":
+            case SHORT:
                 list = inList.stream().filter(x -> ListingUtil.validShort(x)).map(Short::valueOf).collect(Collectors.toList());
                 break;
-            case "Float":
-            case "float":
+            case FLOAT:
                 list = inList.stream().filter(x -> ListingUtil.validFloat(x)).map(x -> toFloat(x)).collect(Collectors.toList());
                 break;
-            case "Double":
-            case "double":
+            case DOUBLE:
                 list = inList.stream().filter(x -> ListingUtil.validDouble(x)).map(x -> toDouble(x)).collect(Collectors.toList());
                 break;
-            default:
-                // Enum
-                if (field.getType().isEnum()) {
-                    List<Enum> inListEnum = new ArrayList<Enum>();
-                    for (String enumString : inList) {
-                        if (ListingUtil.isQuoted(enumString)) {
-                            enumString = ListingUtil.removeQuotes(enumString);
-                        }
-                        try {
-                            inListEnum.add(Enum.valueOf((Class<Enum>) field.getType(), enumString));
-                        } catch (IllegalArgumentException e) {
-                        }
+            case ENUM:
+                List<Enum> inListEnum = new ArrayList<Enum>();
+                for (String enumString : inList) {
+                    if (ListingUtil.isQuoted(enumString)) {
+                        enumString = ListingUtil.removeQuotes(enumString);
+                    }
+                    try {
+                        inListEnum.add(Enum.valueOf((Class<Enum>) field.getType(), enumString));
+                    } catch (IllegalArgumentException e) {
                     }
-                    list = inListEnum;
                 }
+                list = inListEnum;
+                break;
+            default:
                 break;
         }
         if (list != null && !list.isEmpty()) {
-            return criteriaBuilder.isTrue(root.get(field.getName()).in(list));
+            // bound as one collection valued parameter instead of literals, the provider still expands it to one placeholder per value, so the
+            // query text and its plan depend on the number of values
+            ParameterExpression<Collection> parameter = criteriaBuilder.parameter(Collection.class);
+            parameterValues.put(parameter, list);
+            return criteriaBuilder.isTrue(root.get(field.getName()).in(parameter));
         }
         return null;
     }
 
+    /**
+     * Filter values get bound as parameters instead of being rendered as literals into the query. This way the same filter structure always results in
+     * the same query text, no matter what values are given, so the query plan caches of the persistence provider and the database get hit. IN lists
+     * are the exception, their query text changes with the number of values.
+     */
+    private Expression parameter(Object value) {
+        if (value == null) {
+            return criteriaBuilder.nullLiteral(Object.class);
+        }
+        Class<?> type = value instanceof Enum ? ((Enum) value).getDeclaringClass() : value.getClass();
+        ParameterExpression parameter = criteriaBuilder.parameter(type);
+        parameterValues.put(parameter, value);
+        return parameter;
+    }
+
+    private <Q extends Query> Q bind(Q typedQuery) {
+        for (Map.Entry<ParameterExpression, Object> parameterValue : parameterValues.entrySet()) {
+            typedQuery.setParameter(parameterValue.getKey(), parameterValue.getValue());
+        }
+        return typedQuery;
+    }
+
     private Double toDouble(String value) {
         return Double.valueOf(value.replace(",", "."));
     }
@@ -542,7 +404,7 @@ public class ListingQuery<T> {
             filter = ListingUtil.likeValue(filter);
             List<Predicate> predicates = new ArrayList<>();
             for (String attribute : attributes) {
-                predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get(attribute)), filter));
+                predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get(attribute)), parameter(filter)));
             }
             Predicate filterConstraint = criteriaBuilder.or(predicates.toArray(new Predicate[predicates.size()]));
             whereConstraints.add(filterConstraint);
@@ -556,48 +418,94 @@ public class ListingQuery<T> {
     }
 
     public ListingQuery<T> addEqualsConstraint(String attribute, Enum value) {
-        whereConstraints.add(criteriaBuilder.equal(root.get(attribute), value));
+        whereConstraints.add(criteriaBuilder.equal(root.get(attribute), parameter(value)));
         return this;
     }
 
     public ListingQuery<T> addEqualsNotConstraint(String attribute, Enum value) {
-        whereConstraints.add(criteriaBuilder.notEqual(root.get(attribute), value));
+        whereConstraints.add(criteriaBuilder.notEqual(root.get(attribute), parameter(value)));
         return this;
     }
 
+    /**
+     * Sorts by the given attributes, followed by the identifier as tiebreaker to get a unique order
+     *
+     * @param attribute name of the attributes (separated by ";") the result list gets sorted by (prefix '+' for ascending (default) or '-' for descending
+     *        order. E.g. '-creationDate')
+     * @return this
+     */
     public ListingQuery<T> sort(String attribute) {
 
-        if (attribute != null && !attribute.isEmpty()) {
+        listingSort = ListingSort.of(domainClass, attribute);
+        if (!listingSort.isEmpty()) {
+            query.orderBy(getOrders(false));
+        }
+        return this;
+    }
 
-            String[] attributes = attribute.trim().split(";");
+    private Order[] getOrders(boolean reverse) {
 
-            if (attributes.length == 1) {
-                query.orderBy(getOrder(attribute));
+        Order[] orders = new Order[listingSort.getAttributes().size()];
+        for (int i = 0; i < orders.length; i++) {
+            String attribute = listingSort.getAttributes().get(i);
+            if (listingSort.isDescending(i) != reverse) {
+                orders[i] = criteriaBuilder.desc(root.get(attribute));
             } else {
-                Order[] orders = new Order[attributes.length];
-                for (int i = 0; i < attributes.length; i++) {
-                    orders[i] = getOrder(attributes[i]);
-                }
-                query.orderBy(orders);
+                orders[i] = criteriaBuilder.asc(root.get(attribute));
             }
         }
-        return this;
+        return orders;
     }
 
-    private Order getOrder(String attribute) {
-
-        String sort = attribute.trim();
-
-        if (sort.startsWith(ListingConfig.SORT_DESC)) {
-            sort = sort.substring(ListingConfig.SORT_DESC.length());
+    /**
+     * Keyset pagination (seek method): Only rows positioned after the cursor in sort order are part of the result, so no offset is needed.
+     * <p>
+     * <i>A nullable sort order (see {@link ListingSort#isNullable()}) has no valid cursor, as comparisons never match <code>null</code>, so the rows
+     * just start from the beginning.</i>
+     * </p>
+     *
+     * @param cursor opaque cursor created by {@link ListingSort#cursor(Object)} for the same sort order
+     * @param backwards if <code>true</code>, rows positioned before the cursor are the result and the order gets reversed
+     * @return this
+     */
+    public ListingQuery<T> seek(String cursor, boolean backwards) {
+
+        if (listingSort == null) {
+            sort(null);
         }
-        if (sort.startsWith(ListingConfig.SORT_ASC)) {
-            sort = sort.substring(ListingConfig.SORT_ASC.length());
+        Object[] values = listingSort.values(cursor);
+        if (values == null) {
+            return this; // no valid cursor, so just start from the beginning
         }
-        if (attribute.startsWith(ListingConfig.SORT_DESC)) {
-            return criteriaBuilder.desc(root.get(sort));
+        if (backwards) {
+            query.orderBy(getOrders(true));
         }
-        return criteriaBuilder.asc(root.get(sort));
+        // (a > x) OR (a = x AND b > y) OR (a = x AND b = y AND c > z) ...
+        List<Predicate> disjunction = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+
+            Expression path = root.get(listingSort.getAttributes().get(i));
+            Comparable value = (Comparable) values[i];
+
+            if (value != null) {
+                List<Predicate> conjunction = new ArrayList<>(equalities);
+                if (listingSort.isDescending(i) != backwards) {
+                    conjunction.add(criteriaBuilder.lessThan(path, parameter(value)));
+                } else {
+                    conjunction.add(criteriaBuilder.greaterThan(path, parameter(value)));
+                }
+                disjunction.add(criteriaBuilder.and(conjunction.toArray(new Predicate[conjunction.size()])));
+                if (i < values.length - 1) {
+                    // every parameter has to be part of the query, so there is no equality for the last one
+                    equalities.add(criteriaBuilder.equal(path, parameter(value)));
+                }
+            } else {
+                equalities.add(criteriaBuilder.isNull(path));
+            }
+        }
+        whereConstraints.add(criteriaBuilder.or(disjunction.toArray(new Predicate[disjunction.size()])));
+        return this;
     }
 
     public CriteriaQuery<T> getQuery() {
@@ -617,7 +525,88 @@ public class ListingQuery<T> {
     }
 
     public List<T> list(Integer startPosition, Integer limit) {
-        TypedQuery<T> typedQuery = entityManager.createQuery(this.getQuery());
+        return (List<T>) fetch(startPosition, limit);
+    }
+
+    /**
+     * Selects just the attributes of the projection instead of whole entities, see {@link #listProjection(Integer, Integer)}
+     * 
+     * @param projection attributes to select and how to return them
+     * @return this
+     */
+    public ListingQuery<T> project(ListingProjection projection) {
+        this.projection = projection;
+        return this;
+    }
+
+    /**
+     * @param <R> type of the result, maps or instances of the result class given by {@link #project(ListingProjection)} (or entities if there is no
+     *        projection)
+     * @param startPosition position of the first result
+     * @param limit maximum number of results
+     * @return projections of the matching rows
+     */
+    public <R> List<R> listProjection(Integer startPosition, Integer limit) {
+        return (List<R>) fetch(startPosition, limit);
+    }
+
+    private List<?> fetch(Integer startPosition, Integer limit) {
+
+        // one more row than needed tells if there is a next page
+        boolean probe = probeNext && limit != null && limit > 0 && limit < Integer.MAX_VALUE;
+        Integer maxResults = probe ? Integer.valueOf(limit + 1) : limit;
+        List<?> list;
+
+        boolean withCount = countOver && ListingConfig.COUNT_WINDOW_FUNCTION != null;
+        if (withCount || projection != null) {
+
+            List<Selection<?>> selections = new ArrayList<>();
+            if (projection == null) {
+                addJoinFetches();
+                selections.add(root);
+            } else {
+                projection.getFields().forEach(field -> selections.add(root.get(field.getName())));
+            }
+            if (withCount) {
+                selections.add(criteriaBuilder.function(ListingConfig.COUNT_WINDOW_FUNCTION, Long.class));
+            }
+            if (selections.size() == 1) {
+                query.select(selections.get(0));
+            } else {
+                query.multiselect(selections);
+            }
+            query.where(criteriaBuilder.and(whereConstraints.toArray(new Predicate[whereConstraints.size()])));
+
+            List<Object> rows = range(bind(entityManager.createQuery(query)), startPosition, maxResults).getResultList();
+            List<Object> results = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                // a single selection doesn't come as array
+                Object[] values = selections.size() == 1 ? new Object[] {row} : (Object[]) row;
+                results.add(projection == null ? values[0] : projection.toResult(values));
+            }
+            if (withCount) {
+                // every row carries the total count, an empty page has none
+                Object[] first = rows.isEmpty() ? null : (Object[]) rows.get(0);
+                totalCount = first == null ? null : ((Number) first[selections.size() - 1]).longValue();
+            }
+            list = results;
+        } else {
+            addJoinFetches();
+            list = range(bind(entityManager.createQuery(this.getQuery())), startPosition, maxResults).getResultList();
+        }
+        if (probe) {
+            hasMore = list.size() > limit;
+            if (hasMore) {
+                list = new ArrayList<>(list.subList(0, limit));
+            }
+        }
+        if (readOnly && ListingConfig.READ_ONLY_DETACH && projection == null) {
+            list.forEach(entityManager::detach);
+        }
+        return list;
+    }
+
+    private <Q extends Query> Q range(Q typedQuery, Integer startPosition, Integer limit) {
         if (startPosition != null) {
             typedQuery.setFirstResult(startPosition);
         }
@@ -627,93 +616,345 @@ public class ListingQuery<T> {
         if (ListingConfig.FETCHSIZE != 0) {
             typedQuery.setHint("org.hibernate.fetchSize", ListingConfig.FETCHSIZE);
         }
-        return typedQuery.getResultList();
+        if (readOnly) {
+            // no snapshots for dirty checking and no flush of pending changes before the query, unknown hints get ignored by the provider
+            typedQuery.setHint("org.hibernate.readOnly", true);
+            typedQuery.setHint("eclipselink.read-only", "true");
+            typedQuery.setFlushMode(FlushModeType.COMMIT);
+        }
+        if (entityGraph != null && projection == null) {
+            typedQuery.setHint("javax.persistence.fetchgraph", entityGraph);
+        }
+        return typedQuery;
+    }
+
+    /**
+     * Loads the associations along with the entities by a fetch join, so serializing them doesn't need one more query per row. The fetch joins are only
+     * added when selecting entities, never to count queries or projections. Only single-valued associations (<code>@ManyToOne</code>,
+     * <code>@OneToOne</code>) get fetched, since a fetch join on a collection would multiply the rows of the page. Unknown attributes are ignored.
+     * 
+     * @param associations names of the associations separated by "," or ";", nested ones by ".", e.g. <code>"owner,owner.address"</code>
+     * @return this
+     */
+    public ListingQuery<T> joinFetch(String associations) {
+        if (StringUtils.isNotBlank(associations)) {
+            for (String association : associations.split("[,;]")) {
+                if (StringUtils.isNotBlank(association)) {
+                    joinFetches.add(association.trim());
+                }
+            }
+        }
+        return this;
+    }
+
+    private void addJoinFetches() {
+
+        if (joinFetched) {
+            return;
+        }
+        joinFetched = true;
+
+        Map<String, FetchParent<?, ?>> fetches = new HashMap<>();
+        for (String association : joinFetches) {
+
+            FetchParent<?, ?> parent = root;
+            ManagedType<?> type = root.getModel();
+            String path = "";
+
+            for (String name : association.split("\\.")) {
+                Attribute<?, ?> attribute = getAttribute(type, name);
+                if (attribute == null || attribute.getPersistentAttributeType() != PersistentAttributeType.MANY_TO_ONE
+                                && attribute.getPersistentAttributeType() != PersistentAttributeType.ONE_TO_ONE) {
+                    break;
+                }
+                path += "." + name;
+                FetchParent<?, ?> fetch = fetches.get(path);
+                if (fetch == null) {
+                    fetch = parent.fetch(name, JoinType.LEFT);
+                    fetches.put(path, fetch);
+                }
+                parent = fetch;
+                type = (ManagedType<?>) ((SingularAttribute<?, ?>) attribute).getType();
+            }
+        }
+    }
+
+    private static Attribute<?, ?> getAttribute(ManagedType<?> type, String name) {
+        try {
+            return type.getAttribute(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads the entities by the named entity graph as fetch graph (<code>javax.persistence.fetchgraph</code>, JPA 2.1), see
+     * {@link #entityGraph(EntityGraph)}
+     * 
+     * @param name name of an entity graph defined by <code>@NamedEntityGraph</code>, <code>null</code> for none
+     * @return this
+     * @throws IllegalArgumentException if there is no entity graph of that name
+     */
+    public ListingQuery<T> entityGraph(String name) {
+        if (StringUtils.isNotBlank(name)) {
+            entityGraph = entityManager.getEntityGraph(name);
+        }
+        return this;
+    }
+
+    /**
+     * Loads the entities by the entity graph as fetch graph (<code>javax.persistence.fetchgraph</code>, JPA 2.1), so the associations in the graph come
+     * along with the entities. The graph is only passed to queries selecting entities, never to count queries or projections.
+     * 
+     * @param entityGraph graph of the target entity, e.g. created by {@link EntityManager#createEntityGraph(Class)}
+     * @return this
+     */
+    public ListingQuery<T> entityGraph(EntityGraph<?> entityGraph) {
+        this.entityGraph = entityGraph;
+        return this;
+    }
+
+    /**
+     * Loads the entities read-only: the persistence provider keeps no snapshots of them for dirty checking and pending changes don't get flushed before
+     * the query. If {@link ListingConfig#READ_ONLY_DETACH} is set, the entities get detached right after they are loaded.
+     * 
+     * @param readOnly <code>true</code> to load the entities read-only
+     * @return this
+     */
+    public ListingQuery<T> readOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+        return this;
+    }
+
+    /**
+     * Selects the total count of all matching rows along with every row of the page by the window function {@link ListingConfig#COUNT_WINDOW_FUNCTION},
+     * so there is no need for a separate count query. Without that function configured, this has no effect.
+     * 
+     * @return this
+     */
+    public ListingQuery<T> countOver() {
+        countOver = true;
+        return this;
+    }
+
+    /**
+     * Selects one row more than the limit to find out if there are more rows after the page, so there is no need for a count query. The additional row
+     * doesn't get returned.
+     * 
+     * @return this
+     */
+    public ListingQuery<T> probeNext() {
+        probeNext = true;
+        return this;
+    }
+
+    /**
+     * @return <code>true</code> if there are more rows after the page selected by {@link #probeNext()}, <code>null</code> if it is unknown
+     */
+    public Boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * @return total count of matching rows selected by {@link #countOver()}, <code>null</code> if it wasn't selected or the page was empty
+     */
+    public Long getTotalCount() {
+        return totalCount;
     }
 
     public Long count() {
-        TypedQuery<Long> typedQuery = this.entityManager.createQuery(this.getQueryForCount());
+        TypedQuery<Long> typedQuery = bind(this.entityManager.createQuery(this.getQueryForCount()));
         return typedQuery.getSingleResult();
     }
 
+    /**
+     * Counts the matching rows, but only up to a limit. JPQL knows no limit within a subquery, so a constant for each of at most <code>cap + 1</code> rows
+     * gets selected and the database stops right there. No entity gets loaded.
+     * 
+     * @param cap maximal count of interest
+     * @return count of matching rows, <code>cap + 1</code> means there are more than <code>cap</code>
+     */
+    public long countCapped(int cap) {
+
+        query.select(criteriaBuilder.literal(1));
+        query.where(criteriaBuilder.and(whereConstraints.toArray(new Predicate[whereConstraints.size()])));
+
+        TypedQuery typedQuery = bind(this.entityManager.createQuery(query));
+        typedQuery.setMaxResults(cap < Integer.MAX_VALUE ? cap + 1 : cap);
+        return typedQuery.getResultList().size();
+    }
+
+    /**
+     * Fingerprint of the matching rows by one aggregate query: their count, the greatest and the sum of their ids (the least id if it isn't numeric) and,
+     * if the entity has a version field (see {@link EntityListingDescriptor#getVersionField()}), the sum of a numeric version or the latest timestamp. As
+     * long as the fingerprint stays the same, the matching rows didn't change. The ids change the fingerprint if rows replace others with the same count
+     * and versions, e.g. by a delete and an insert or by rows moving in and out of the filter. Without a version field, changes within a row don't change
+     * the fingerprint, so it can't be used as ETag then.
+     * 
+     * @return fingerprint of the matching rows
+     */
+    public String fingerprint() {
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(criteriaBuilder.count(root));
+        ListingField idField = descriptor.getIdField();
+        if (idField != null) {
+            Path id = root.get(idField.getName());
+            selections.add(idField.isNumber() ? criteriaBuilder.max(id) : criteriaBuilder.greatest(id));
+            selections.add(idField.isNumber() ? criteriaBuilder.sum(id) : criteriaBuilder.least(id));
+        }
+        ListingField versionField = descriptor.getVersionField();
+        if (versionField != null) {
+            Path version = root.get(versionField.getName());
+            // every change increments a numeric version, so the sum changes while the maximum might not
+            selections.add(versionField.isNumber() ? criteriaBuilder.sum(version) : criteriaBuilder.greatest(version));
+        }
+        if (selections.size() == 1) {
+            return String.valueOf(count());
+        }
+        query.multiselect(selections);
+        query.where(criteriaBuilder.and(whereConstraints.toArray(new Predicate[whereConstraints.size()])));
+
+        Object[] values = (Object[]) bind(entityManager.createQuery(query)).getSingleResult();
+        StringBuilder fingerprint = new StringBuilder();
+        for (Object value : values) {
+            if (fingerprint.length() > 0) {
+                fingerprint.append('-');
+            }
+            fingerprint.append(value instanceof Date ? ((Date) value).getTime() : value);
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Estimates the row count of the whole table by {@link ListingConfig#COUNT_ESTIMATE_QUERY}, filters are not taken into account. The table name is
+     * taken from <code>@Table(name = "...")</code> of the entity, since the name the persistence provider derives otherwise is unknown here.
+     * 
+     * @return estimated row count or <code>null</code> if there is no estimation query, no table name or no result
+     */
+    public Long estimate() {
+
+        if (ListingConfig.COUNT_ESTIMATE_QUERY == null || descriptor.getTableName() == null) {
+            return null;
+        }
+        List<?> result = entityManager.createNativeQuery(ListingConfig.COUNT_ESTIMATE_QUERY).setParameter(1, descriptor.getTableName()).getResultList();
+        if (result.isEmpty() || !(result.get(0) instanceof Number)) {
+            return null;
+        }
+        return ((Number) result.get(0)).longValue();
+    }
+
     public Stats getStats(String attribute, String operation) {
+        return getStatsMap(Collections.singletonMap(attribute, operation)).get(attribute);
+    }
+
+    /**
+     * Calculates the stats of all the given attributes in one aggregate query, so the table gets scanned just once. Numbers (including primitive types,
+     * <code>BigDecimal</code> and <code>BigInteger</code>) support all the operations, dates just <code>count</code>, <code>min</code> and
+     * <code>max</code>.
+     * 
+     * @param statsAttributes attribute names with their operation (<code>count</code>, <code>min</code>, <code>max</code>, <code>avg</code>,
+     *        <code>sum</code> or anything else for all of them)
+     * @return stats per attribute, attributes of other types are left out
+     */
+    public Map<String, Stats> getStatsMap(Map<String, String> statsAttributes) {
+
+        Map<String, Stats> stats = new HashMap<>();
+        if (statsAttributes == null || statsAttributes.isEmpty()) {
+            return stats;
+        }
+        List<Selection<?>> selections = new ArrayList<>();
+        List<String> attributes = new ArrayList<>();
+        List<String> operations = new ArrayList<>();
+
+        for (Map.Entry<String, String> statsAttribute : statsAttributes.entrySet()) {
+
+            String attribute = statsAttribute.getKey();
+            ListingField field = descriptor.getSearchableField(attribute);
+            if (field == null) {
+                continue;
+            }
+            boolean number = field.isNumber();
+            if (!number && !isTemporal(field)) {
+                continue;
+            }
+            for (String operation : STATS_OPERATIONS.contains(statsAttribute.getValue()) ? Collections.singletonList(statsAttribute.getValue())
+                            : STATS_OPERATIONS) {
+
+                Selection<?> selection = getStatsSelection(root.get(attribute), operation, number);
+                if (selection != null) {
+                    selections.add(selection);
+                    attributes.add(attribute);
+                    operations.add(operation);
+                }
+            }
+        }
+        if (selections.isEmpty()) {
+            return stats;
+        }
+        query.multiselect(selections);
+        query.where(criteriaBuilder.and(whereConstraints.toArray(new Predicate[whereConstraints.size()])));
 
-        List<Expression> operations = new ArrayList<>();
+        TypedQuery typedQuery = bind(this.entityManager.createQuery(query));
+        typedQuery.setMaxResults(1);
+
+        Object result = typedQuery.getSingleResult();
+        // a single selection doesn't come as array
+        Object[] values = selections.size() == 1 ? new Object[] {result} : (Object[]) result;
+
+        for (int i = 0; i < values.length; i++) {
+            setStatsValue(stats.computeIfAbsent(attributes.get(i), attribute -> new Stats()), operations.get(i), values[i]);
+        }
+        return stats;
+    }
+
+    private Selection<?> getStatsSelection(Path path, String operation, boolean number) {
         switch (operation) {
             case "count":
-                operations.add(criteriaBuilder.count(root.get(attribute)));
-                break;
+                return criteriaBuilder.count(path);
             case "min":
-                operations.add(criteriaBuilder.min(root.get(attribute)));
-                break;
+                return number ? criteriaBuilder.min(path) : criteriaBuilder.least(path);
             case "max":
-                operations.add(criteriaBuilder.max(root.get(attribute)));
-                break;
+                return number ? criteriaBuilder.max(path) : criteriaBuilder.greatest(path);
             case "avg":
-                operations.add(criteriaBuilder.avg(root.get(attribute)));
-                break;
+                return number ? criteriaBuilder.avg(path) : null;
             case "sum":
-                operations.add(criteriaBuilder.sum(root.get(attribute)));
-                break;
+                return number ? criteriaBuilder.sum(path) : null;
             default:
-                operations.add(criteriaBuilder.count(root.get(attribute)));
-                operations.add(criteriaBuilder.min(root.get(attribute)));
-                operations.add(criteriaBuilder.max(root.get(attribute)));
-                operations.add(criteriaBuilder.avg(root.get(attribute)));
-                operations.add(criteriaBuilder.sum(root.get(attribute)));
-                break;
+                return null;
         }
-        query.multiselect(operations);
-        query.where(criteriaBuilder.and(whereConstraints.toArray(new Predicate[whereConstraints.size()])));
-
-        TypedQuery typedQuery = this.entityManager.createQuery(query);
-        typedQuery.setMaxResults(1);
+    }
 
-        Stats stats = new Stats();
+    private static void setStatsValue(Stats stats, String operation, Object value) {
         switch (operation) {
             case "count":
-                stats.setCount((Long) typedQuery.getSingleResult());
+                stats.setCount(value == null ? null : ((Number) value).longValue());
                 break;
             case "min":
-                stats.setMin((Number) typedQuery.getSingleResult());
+                if (value instanceof Number) {
+                    stats.setMin((Number) value);
+                } else {
+                    stats.setMinDate(value);
+                }
                 break;
             case "max":
-                stats.setMax((Number) typedQuery.getSingleResult());
+                if (value instanceof Number) {
+                    stats.setMax((Number) value);
+                } else {
+                    stats.setMaxDate(value);
+                }
                 break;
             case "avg":
-                stats.setAvg((Double) typedQuery.getSingleResult());
+                stats.setAvg(value == null ? null : ((Number) value).doubleValue());
                 break;
             case "sum":
-                stats.setSum((Number) typedQuery.getSingleResult());
-                break;
-            default:
-                Object[] result = (Object[]) typedQuery.getSingleResult();
-                stats.setCount((Long) result[0]);
-                stats.setMin((Number) result[1]);
-                stats.setMax((Number) result[2]);
-                stats.setAvg((Double) result[3]);
-                stats.setSum((Number) result[4]);
+                stats.setSum((Number) value);
                 break;
         }
-        return stats;
     }
 
-    public Map<String, Stats> getStatsMap(Map<String, String> statsAttributes) {
-
-        Map<String, Stats> stats = new HashMap<>();
-        if (statsAttributes != null && statsAttributes.size() > 0) {
-
-            Map<String, Field> fields = ListingUtil.getFields(domainClass).stream().collect(Collectors.toMap(f -> f.getName(), f -> f));
-            for (Map.Entry<String, String> statsAttribute : statsAttributes.entrySet()) {
-
-                String attribute = statsAttribute.getKey();
-                Field field = fields.get(attribute);
-
-                if (field != null && field.getType().getSuperclass() == Number.class) {
-                    stats.put(attribute, getStats(attribute, statsAttribute.getValue()));
-                }
-            }
-        }
-        return stats;
+    private static boolean isTemporal(ListingField field) {
+        return field.getValueType() == FieldType.DATE || field.getValueType() == FieldType.LOCAL_DATE_TIME || field.getType() == LocalDate.class;
     }
 
     public List<Term> getTerms(String attribute, int maxResults) {
@@ -725,30 +966,140 @@ public class ListingQuery<T> {
         query.groupBy(root.get(attribute));
         query.orderBy(criteriaBuilder.desc(countExpression));
 
-        TypedQuery typedQuery = this.entityManager.createQuery(query);
+        TypedQuery typedQuery = bind(this.entityManager.createQuery(query));
         typedQuery.setMaxResults(maxResults);
 
         return ((List<Object[]>) typedQuery.getResultList()).stream().map(r -> new Term(r[0], (long) r[1])).collect(Collectors.toList());
     }
 
+    /**
+     * Gets the terms of all the given attributes. Several attributes get grouped together in one query, the terms per attribute are counted up from the
+     * value combinations. If there are more combinations than {@link ListingConfig#TERMS_COMBINED_LIMIT}, every attribute gets its own query.
+     * 
+     * @param termsAttributes attribute names with the maximum count of terms
+     * @return terms per attribute, ordered by count
+     */
     public Map<String, List<Term>> getTermsMap(Map<String, String> termsAttributes) {
+        return getLimitedTermsMap(getTermsLimits(termsAttributes));
+    }
+
+    private Map<String, List<Term>> getLimitedTermsMap(Map<String, Integer> maxResults) {
 
+        if (maxResults.size() > 1 && ListingConfig.TERMS_COMBINED_LIMIT > 0) {
+            Map<String, List<Term>> terms = getCombinedTerms(maxResults, Collections.singletonList(criteriaBuilder.count(root)));
+            if (terms != null) {
+                return terms;
+            }
+        }
+        Map<String, List<Term>> terms = new HashMap<>();
+        maxResults.forEach((attribute, max) -> terms.put(attribute, getTerms(attribute, max)));
+        return terms;
+    }
+
+    /**
+     * Gets the terms of all the given attributes as facets: every attribute is counted with all the filters applied, except the one on the attribute
+     * itself. This way a facet still offers its other values after one of them got chosen as filter.<br>
+     * Several attributes get grouped together in one query that counts every facet by a conditional sum over the filters of the other facets. If there
+     * are more combinations than {@link ListingConfig#TERMS_COMBINED_LIMIT}, every attribute gets its own query.
+     * <p>
+     * This query must not be filtered already, the filter gets applied here.
+     * </p>
+     * 
+     * @param listingFilter filter compiled for the same target entity
+     * @param termsAttributes attribute names with the maximum count of terms
+     * @return terms per attribute, ordered by count
+     */
+    public Map<String, List<Term>> getFacetsMap(ListingFilter listingFilter, Map<String, String> termsAttributes) {
+
+        Map<String, Integer> maxResults = getTermsLimits(termsAttributes);
+
+        // filters on facets (all of them if just one has to match) get applied per facet, the rest is the same for every facet
+        List<Clause> facetClauses = listingFilter.getClauses().stream()
+                        .filter(clause -> listingFilter.isDisjunctive() || maxResults.keySet().stream().anyMatch(clause::isOn)).collect(Collectors.toList());
+        if (facetClauses.isEmpty()) {
+            filterBy(listingFilter);
+            return getLimitedTermsMap(maxResults);
+        }
+        if (maxResults.size() > 1 && ListingConfig.TERMS_COMBINED_LIMIT > 0) {
+
+            filterBy(listingFilter.without(facetClauses::contains));
+
+            List<Expression<?>> counts = new ArrayList<>();
+            for (String attribute : maxResults.keySet()) {
+                List<Predicate> predicates = new ArrayList<>();
+                facetClauses.stream().filter(clause -> !clause.isOn(attribute))
+                                .forEach(clause -> add(predicates, createPredicate(clause.getFilter(), clause.getFields())));
+                Predicate condition = combine(listingFilter.isDisjunctive(), predicates);
+                counts.add(condition == null ? criteriaBuilder.count(root)
+                                : criteriaBuilder.sum(criteriaBuilder.<Long> selectCase().when(condition, 1L).otherwise(0L)));
+            }
+            Map<String, List<Term>> terms = getCombinedTerms(maxResults, counts);
+            if (terms != null) {
+                return terms;
+            }
+        }
         Map<String, List<Term>> terms = new HashMap<>();
-        if (termsAttributes != null && termsAttributes.size() > 0) {
+        maxResults.forEach((attribute, max) -> terms.put(attribute, new ListingQuery<>(entityManager, domainClass)
+                        .filterBy(listingFilter.without(clause -> clause.isOn(attribute) && facetClauses.contains(clause))).getTerms(attribute, max)));
+        return terms;
+    }
 
-            Map<String, Field> fields = ListingUtil.getFields(domainClass).stream().collect(Collectors.toMap(f -> f.getName(), f -> f));
+    private Map<String, Integer> getTermsLimits(Map<String, String> termsAttributes) {
+
+        Map<String, Integer> maxResults = new LinkedHashMap<>();
+        if (termsAttributes != null) {
             for (Map.Entry<String, String> termsAttribute : termsAttributes.entrySet()) {
                 String attribute = termsAttribute.getKey();
-                if (!fields.containsKey(attribute)) {
+                if (descriptor.getSearchableField(attribute) == null) {
                     continue;
                 }
                 String value = termsAttribute.getValue();
-                int maxResults = ListingConfig.DEFAULT_LIMIT;
-                if (value != null && ListingUtil.validInt(value)) {
-                    maxResults = Integer.valueOf(value);
-                }
-                terms.put(attribute, getTerms(attribute, maxResults));
+                maxResults.put(attribute, value != null && ListingUtil.validInt(value) ? Integer.valueOf(value) : ListingConfig.DEFAULT_LIMIT);
+            }
+        }
+        return maxResults;
+    }
+
+    /**
+     * @param maxResults attributes with their maximum count of terms
+     * @param counts one count for all the attributes or a count per attribute
+     * @return terms per attribute or <code>null</code> if there are too many value combinations
+     */
+    private Map<String, List<Term>> getCombinedTerms(Map<String, Integer> maxResults, List<Expression<?>> counts) {
+
+        List<String> attributes = new ArrayList<>(maxResults.keySet());
+        List<Selection<?>> selections = new ArrayList<>();
+        List<Expression<?>> groups = new ArrayList<>();
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute));
+            groups.add(root.get(attribute));
+        }
+        selections.addAll(counts);
+
+        query.multiselect(selections);
+        query.where(criteriaBuilder.and(whereConstraints.toArray(new Predicate[whereConstraints.size()])));
+        query.groupBy(groups);
+        query.orderBy();
+
+        TypedQuery typedQuery = bind(this.entityManager.createQuery(query));
+        typedQuery.setMaxResults(ListingConfig.TERMS_COMBINED_LIMIT + 1);
+
+        List<Object[]> rows = typedQuery.getResultList();
+        if (rows.size() > ListingConfig.TERMS_COMBINED_LIMIT) {
+            return null; // too many combinations to count them up
+        }
+        Map<String, List<Term>> terms = new HashMap<>();
+        for (int i = 0; i < attributes.size(); i++) {
+
+            int countIndex = attributes.size() + (counts.size() == 1 ? 0 : i);
+            Map<Object, Long> termCounts = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                // just like a query per attribute, null values have no count
+                termCounts.merge(row[i], row[i] == null || row[countIndex] == null ? 0L : ((Number) row[countIndex]).longValue(), Long::sum);
             }
+            terms.put(attributes.get(i), termCounts.entrySet().stream().filter(e -> e.getValue() > 0 || e.getKey() == null)
+                            .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder())).limit(maxResults.get(attributes.get(i)))
+                            .map(e -> new Term(e.getKey(), e.getValue())).collect(Collectors.toList()));
         }
         return terms;
     }
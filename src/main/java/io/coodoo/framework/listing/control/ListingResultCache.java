@@ -0,0 +1,199 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingResult;
+import io.coodoo.framework.listing.boundary.annotation.ListingCacheable;
+
+/**
+ * Caches listing results of entities annotated with {@link ListingCacheable}. Identical listing parameters share one cache entry: the key is built from
+ * the normalized parameters, with defaults resolved and the filter, terms and stats attributes in alphabetical order.
+ * <p>
+ * By default the values are cached in a {@link LocalListingCache} of {@link ListingConfig#CACHE_SIZE}, another backend can be set by
+ * {@link #setCache(ListingCache)}. Listings with a {@link io.coodoo.framework.listing.boundary.ListingPredicate} are never cached.
+ * </p>
+ * <p>
+ * Only read-only listings (see {@link ListingParameters#isReadOnly()}) get cached, with their entities detached, since a cached result outlives the
+ * entity manager and the transaction that loaded it and is served to any thread. This applies to the caller whose query filled the cache as well, so a
+ * cacheable listing always returns detached entities. Every caller gets its own copy of the cached result, including its metadata, terms and stats.
+ * The entities are not copied: they are shared read-only snapshots and must not be changed.
+ * </p>
+ * <p>
+ * Total counts of entities annotated with {@link ListingCacheable} get cached for {@link ListingConfig#COUNT_CACHE_TTL} in the same backend, keyed by
+ * the filter only, so paging through a listing counts it just once.
+ * </p>
+ *
+ * @author coodoo GmbH (coodoo.io)
+ */
+public final class ListingResultCache {
+
+    private static volatile ListingCache cache;
+
+    private ListingResultCache() {}
+
+    /**
+     * @return the cache backend or <code>null</code> if none was set and the built-in one is disabled by {@link ListingConfig#CACHE_SIZE}
+     */
+    public static ListingCache getCache() {
+        if (cache == null && ListingConfig.CACHE_SIZE > 0) {
+            synchronized (ListingResultCache.class) {
+                if (cache == null) {
+                    cache = new LocalListingCache(ListingConfig.CACHE_SIZE);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * @param cache backend to use instead of the {@link LocalListingCache}, <code>null</code> to get back to it
+     */
+    public static void setCache(ListingCache cache) {
+        ListingResultCache.cache = cache;
+    }
+
+    /**
+     * @param entityClass target entity class
+     * @param parameters listing parameters
+     * @return canonical key of the parameters or <code>null</code> if the listing doesn't get cached (not {@link ListingCacheable}, not read-only or
+     *         with a predicate)
+     */
+    public static String key(Class<?> entityClass, ListingParameters parameters) {
+
+        if (!entityClass.isAnnotationPresent(ListingCacheable.class) || !parameters.isReadOnly() || parameters.getPredicate() != null
+                        || getCache() == null) {
+            return null;
+        }
+        return signature(parameters);
+    }
+
+    /**
+     * @param parameters listing parameters
+     * @return normalized parameters (without a predicate, with the resolved read-only flag), identical for equal parameters
+     */
+    static String signature(ListingParameters parameters) {
+
+        StringBuilder key = new StringBuilder();
+        append(key, "index", parameters.getIndex());
+        append(key, "page", parameters.getPage());
+        append(key, "limit", parameters.getLimit());
+        append(key, "after", parameters.getAfter());
+        append(key, "before", parameters.getBefore());
+        append(key, "sort", parameters.getSortAttribute());
+        append(key, "filter", parameters.getFilter());
+        append(key, "count", parameters.getCountMode() == null ? null : parameters.getCountMode() + "(" + parameters.getCountCap() + ")");
+        append(key, "facets", parameters.isFacets());
+        append(key, "fields", parameters.getFields());
+        append(key, "readOnly", parameters.isReadOnly());
+        append(key, "fetch", parameters.getJoinFetch());
+        append(key, "graph", parameters.getEntityGraph());
+        append(key, "filter-", parameters.getFilterAttributes());
+        append(key, "terms-", parameters.getTermsAttributes());
+        append(key, "stats-", parameters.getStatsAttributes());
+        return key.toString();
+    }
+
+    /**
+     * @param entityClass target entity class
+     * @param parameters listing parameters
+     * @return key of the filter of the parameters (sort and pagination don't matter for the count) or <code>null</code> if the count doesn't get cached
+     *         (not {@link ListingCacheable}, as only those counts get invalidated, or with a predicate)
+     */
+    public static String countKey(Class<?> entityClass, ListingParameters parameters) {
+
+        if (ListingConfig.COUNT_CACHE_TTL <= 0 || !entityClass.isAnnotationPresent(ListingCacheable.class) || parameters.getPredicate() != null
+                        || getCache() == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder("count\n");
+        append(key, "filter", parameters.getFilter());
+        append(key, "filter-", parameters.getFilterAttributes());
+        return key.toString();
+    }
+
+    private static void append(StringBuilder key, String name, Object value) {
+        if (value != null) {
+            key.append(name).append('=').append(value).append('\n');
+        }
+    }
+
+    private static void append(StringBuilder key, String prefix, Map<String, String> attributes) {
+        if (attributes != null) {
+            for (Map.Entry<String, String> attribute : new TreeMap<>(attributes).entrySet()) {
+                append(key, prefix + attribute.getKey(), attribute.getValue());
+            }
+        }
+    }
+
+    /**
+     * @param <R> type of the cached value
+     * @param entityClass target entity class
+     * @param key canonical key by {@link #key(Class, ListingParameters)}
+     * @return cached value (a copy, if it is a {@link ListingResult}) or <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> R get(Class<?> entityClass, String key) {
+        ListingCache listingCache = getCache();
+        return key == null || listingCache == null ? null : (R) copy(listingCache.get(entityClass, key));
+    }
+
+    /**
+     * @param entityClass target entity class
+     * @param key canonical key by {@link #key(Class, ListingParameters)}
+     * @param value value to cache for the time to live given by {@link ListingCacheable#ttl()}
+     */
+    public static void put(Class<?> entityClass, String key, Object value) {
+        if (key != null) {
+            long ttl = entityClass.getAnnotation(ListingCacheable.class).ttl();
+            put(entityClass, key, value, ttl > 0 ? ttl : ListingConfig.CACHE_TTL);
+        }
+    }
+
+    /**
+     * @param entityClass target entity class
+     * @param key key by {@link #countKey(Class, ListingParameters)}
+     * @param count count to cache for {@link ListingConfig#COUNT_CACHE_TTL}
+     */
+    public static void putCount(Class<?> entityClass, String key, Long count) {
+        put(entityClass, key, count, ListingConfig.COUNT_CACHE_TTL);
+    }
+
+    static void put(Class<?> entityClass, String key, Object value, long ttl) {
+        ListingCache listingCache = getCache();
+        if (key != null && listingCache != null && value != null) {
+            listingCache.put(entityClass, key, copy(value), ttl);
+        }
+    }
+
+    private static Object copy(Object value) {
+        // the cached result stays apart from the one the caller got and from the ones handed out later
+        return value instanceof ListingResult ? ((ListingResult<?>) value).copy() : value;
+    }
+
+    /**
+     * Drops all the cached listing results of the entity class and its superclasses
+     *
+     * @param entityClass target entity class
+     */
+    public static void invalidate(Class<?> entityClass) {
+        ListingCache listingCache = cache;
+        if (listingCache != null) {
+            for (Class<?> current = entityClass; current != null && current != Object.class; current = current.getSuperclass()) {
+                listingCache.invalidate(current);
+            }
+        }
+    }
+
+    /**
+     * Drops all the cached listing results
+     */
+    public static void clear() {
+        ListingCache listingCache = cache;
+        if (listingCache != null) {
+            listingCache.clear();
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingResult;
+
+/**
+ * Coalesces identical listing queries that run at the same time (single-flight): the first caller runs the queries, all the others with the same
+ * entity class and normalized listing parameters wait for it and get its result. Nothing is kept once the queries are done, see
+ * {@link ListingResultCache} for caching. Enabled by {@link ListingConfig#SINGLE_FLIGHT}.
+ * <p>
+ * Terms and stats are plain values, so they are shared as they are. Listing results contain entities of the entity manager of the first caller, which
+ * belongs to another thread and transaction. So only read-only listing results get coalesced: their entities get detached before they are shared (for
+ * the first caller as well) and every waiting caller gets its own copy of the result.
+ * </p>
+ *
+ * @author coodoo GmbH (coodoo.io)
+ */
+public final class ListingSingleFlight {
+
+    private static final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private ListingSingleFlight() {}
+
+    /**
+     * @param <R> type of the result
+     * @param operation name of the operation, e.g. <code>"terms"</code>
+     * @param entityClass target entity class
+     * @param parameters listing parameters
+     * @param query runs the queries
+     * @return result of the query, either run by this caller or by a concurrent one with identical parameters
+     */
+    public static <R> R run(String operation, Class<?> entityClass, ListingParameters parameters, Supplier<R> query) {
+
+        if (!ListingConfig.SINGLE_FLIGHT || parameters.getPredicate() != null) {
+            return query.get();
+        }
+        return join(operation, entityClass, parameters, query, UnaryOperator.identity());
+    }
+
+    /**
+     * Coalesces read-only listing results only, others get queried by every caller on its own
+     * 
+     * @param <T> type of target entity class
+     * @param entityClass target entity class
+     * @param parameters listing parameters
+     * @param query runs the queries
+     * @param detach detaches the entities of the result from the entity manager of the query, before they get shared
+     * @return result of the query, either run by this caller or a copy of the one of a concurrent caller with identical parameters
+     */
+    public static <T> ListingResult<T> runResult(Class<T> entityClass, ListingParameters parameters, Supplier<ListingResult<T>> query,
+                    Consumer<List<T>> detach) {
+
+        if (!ListingConfig.SINGLE_FLIGHT || parameters.getPredicate() != null || !parameters.isReadOnly()) {
+            return query.get();
+        }
+        return join("result", entityClass, parameters, () -> {
+            ListingResult<T> result = query.get();
+            detach.accept(result.getResults());
+            return result;
+        }, ListingResult::copy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R join(String operation, Class<?> entityClass, ListingParameters parameters, Supplier<R> query, UnaryOperator<R> share) {
+
+        String key = operation + "\n" + entityClass.getName() + "\n" + ListingResultCache.signature(parameters);
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            try {
+                return share.apply((R) running.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            R result = query.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+package io.coodoo.framework.listing.control;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Resolved sort order of a listing: the requested sort attributes followed by the JPA identifier as unique tiebreaker.
+ * <p>
+ * As the order is unique, the position of a row in it can be expressed by the values of its sort attributes. Those values are encoded in an opaque cursor
+ * that is used for keyset pagination (seek method) instead of an offset.
+ * </p>
+ *
+ * @author coodoo GmbH (coodoo.io)
+ */
+public class ListingSort {
+
+    private static final String CURSOR_SEPARATOR = ".";
+    private static final String CURSOR_NULL = "~";
+    private static final String CURSOR_NANOS = ":";
+
+    private final List<String> attributes = new ArrayList<>();
+    private final List<ListingField> fields = new ArrayList<>();
+    private final List<Boolean> descending = new ArrayList<>();
+
+    private ListingSort() {}
+
+    /**
+     * @param targetClass target entity class
+     * @param sortAttribute name of the attributes (separated by ";") the result list gets sorted by (prefix '+' for ascending (default) or '-' for
+     *        descending order. E.g. '-creationDate')
+     * @return sort order containing the given attributes and the identifier as tiebreaker (if it isn't already part of it)
+     */
+    public static ListingSort of(Class<?> targetClass, String sortAttribute) {
+
+        ListingSort listingSort = new ListingSort();
+        EntityListingDescriptor descriptor = EntityListingDescriptor.of(targetClass);
+
+        if (StringUtils.isNotBlank(sortAttribute)) {
+            for (String attribute : sortAttribute.trim().split(";")) {
+
+                String sort = attribute.trim();
+                boolean desc = sort.startsWith(ListingConfig.SORT_DESC);
+
+                if (sort.startsWith(ListingConfig.SORT_DESC)) {
+                    sort = sort.substring(ListingConfig.SORT_DESC.length());
+                }
+                if (sort.startsWith(ListingConfig.SORT_ASC)) {
+                    sort = sort.substring(ListingConfig.SORT_ASC.length());
+                }
+                if (!sort.isEmpty() && !listingSort.attributes.contains(sort)) {
+                    listingSort.add(sort, descriptor.getField(sort), desc);
+                }
+            }
+        }
+        ListingField idField = descriptor.getIdField();
+        if (idField != null && !listingSort.attributes.contains(idField.getName())) {
+            // the identifier makes the order unique, so there is always a well-defined next row
+            listingSort.add(idField.getName(), idField, false);
+        }
+        return listingSort;
+    }
+
+    private void add(String attribute, ListingField field, boolean desc) {
+        attributes.add(attribute);
+        fields.add(field);
+        descending.add(desc);
+    }
+
+    /**
+     * @return names of the sort attributes in order
+     */
+    public List<String> getAttributes() {
+        return Collections.unmodifiableList(attributes);
+    }
+
+    /**
+     * @param position position of the sort attribute
+     * @return <code>true</code> if the attribute on this position gets sorted in descending order
+     */
+    public boolean isDescending(int position) {
+        return descending.get(position);
+    }
+
+    /**
+     * @return <code>true</code> if there is no attribute to sort by
+     */
+    public boolean isEmpty() {
+        return attributes.isEmpty();
+    }
+
+    /**
+     * @return <code>true</code> if an attribute of the sort order may be <code>null</code> (or is unknown). Comparisons never match <code>null</code>, so
+     *         a cursor can't reliably tell which rows come after it.
+     */
+    public boolean isNullable() {
+        for (ListingField field : fields) {
+            if (field == null || field.isNullable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Encodes the values of the sort attributes of an entity into a cursor
+     *
+     * @param entity instance of the target entity or a map of attribute names and values (projection)
+     * @return opaque cursor pointing to the position of the entity, or <code>null</code> if the position can't be determined or the sort order is
+     *         nullable (see {@link #isNullable()}), so paging has to go by offset
+     */
+    public String cursor(Object entity) {
+
+        if (entity == null || attributes.isEmpty() || isNullable()) {
+            return null;
+        }
+        List<String> tokens = new ArrayList<>();
+        for (ListingField field : fields) {
+            if (field == null) {
+                return null; // unknown attribute, no way to read its value
+            }
+            if (entity instanceof Map) {
+                Map<?, ?> values = (Map<?, ?>) entity;
+                if (!values.containsKey(field.getName())) {
+                    return null; // the attribute wasn't selected
+                }
+                tokens.add(encode(values.get(field.getName())));
+                continue;
+            }
+            try {
+                tokens.add(encode(field.getValue(entity)));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return String.join(CURSOR_SEPARATOR, tokens);
+    }
+
+    /**
+     * Decodes a cursor into the values of the sort attributes
+     *
+     * @param cursor opaque cursor created by {@link #cursor(Object)}
+     * @return values of the sort attributes in order, or <code>null</code> if the cursor doesn't match this sort order or the sort order is nullable
+     */
+    public Object[] values(String cursor) {
+
+        if (StringUtils.isBlank(cursor) || isNullable()) {
+            return null;
+        }
+        String[] tokens = cursor.trim().split(ListingUtil.escape(CURSOR_SEPARATOR), -1);
+        if (tokens.length != fields.size()) {
+            return null;
+        }
+        Object[] values = new Object[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            if (fields.get(i) == null) {
+                return null;
+            }
+            try {
+                values[i] = decode(tokens[i], fields.get(i).getType());
+            } catch (IllegalArgumentException | java.time.DateTimeException e) {
+                return null; // not a cursor of ours
+            }
+        }
+        return values;
+    }
+
+    static String encode(Object value) {
+
+        if (value == null) {
+            return CURSOR_NULL;
+        }
+        String string;
+        if (value instanceof Timestamp) {
+            // the milliseconds lose the fraction below, so the nanoseconds come along
+            string = ((Timestamp) value).getTime() + CURSOR_NANOS + ((Timestamp) value).getNanos();
+        } else if (value instanceof Date) {
+            string = String.valueOf(((Date) value).getTime());
+        } else if (value instanceof Enum) {
+            string = ((Enum<?>) value).name();
+        } else {
+            string = value.toString();
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object decode(String token, Class<?> type) {
+
+        if (CURSOR_NULL.equals(token)) {
+            return null;
+        }
+        String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+
+        switch (type.getSimpleName()) {
+            case "String":
+                return value;
+            case "Long":
+            case "long":
+                return Long.valueOf(value);
+            case "Integer":
+            case "int":
+                return Integer.valueOf(value);
+            case "Short":
+            case "short":
+                return Short.valueOf(value);
+            case "Float":
+            case "float":
+                return Float.valueOf(value);
+            case "Double":
+            case "double":
+                return Double.valueOf(value);
+            case "Boolean":
+            case "boolean":
+                return Boolean.valueOf(value);
+            case "BigDecimal":
+                return new BigDecimal(value);
+            case "BigInteger":
+                return new BigInteger(value);
+            case "LocalDateTime":
+                return LocalDateTime.parse(value);
+            case "LocalDate":
+                return LocalDate.parse(value);
+            case "Date":
+            case "Timestamp":
+                return toDate(value, type);
+            default:
+                if (type.isEnum()) {
+                    return Enum.valueOf((Class<Enum>) type, value);
+                }
+                throw new IllegalArgumentException("Unsupported cursor attribute type " + type.getName());
+        }
+    }
+
+    private static Date toDate(String value, Class<?> type) {
+
+        String[] parts = value.split(CURSOR_NANOS, -1);
+        long time = Long.parseLong(parts[0]);
+        if (parts.length > 1 || Timestamp.class.equals(type)) {
+            // a date field gets timestamps from the persistence provider, so the nanoseconds are compared as well
+            Timestamp timestamp = new Timestamp(time);
+            if (parts.length > 1) {
+                timestamp.setNanos(Integer.parseInt(parts[1]));
+            }
+            return timestamp;
+        }
+        if (java.sql.Date.class.equals(type)) {
+            return new java.sql.Date(time);
+        }
+        return new Date(time);
+    }
+
+}
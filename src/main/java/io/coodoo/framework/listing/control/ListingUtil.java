@@ -34,6 +34,13 @@ public final class ListingUtil {
     // _______________________Group_numbers:__12______________34______________5_________
     private static final String REGEX_DATE = "((\\d{1,2})\\D)?((\\d{1,2})\\D)?(\\d{2,})";
 
+    private static final Pattern PATTERN_LONG = Pattern.compile(REGEX_LONG);
+    private static final Pattern PATTERN_INT = Pattern.compile(REGEX_INT);
+    private static final Pattern PATTERN_SHORT = Pattern.compile(REGEX_SHORT);
+    private static final Pattern PATTERN_FLOAT = Pattern.compile(REGEX_FLOAT);
+    private static final Pattern PATTERN_DOUBLE = Pattern.compile(REGEX_DOUBLE);
+    private static final Pattern PATTERN_DATE = Pattern.compile(REGEX_DATE);
+
     private ListingUtil() {}
 
     public static List<Field> getFields(Class<?> targetClass) {
@@ -72,6 +79,24 @@ public final class ListingUtil {
         return fields;
     }
 
+    /**
+     * @param targetClass target entity class
+     * @return the field annotated with {@link Id} (also in superclasses) or <code>null</code> if there is none
+     */
+    public static Field getIdField(Class<?> targetClass) {
+
+        Class<?> inheritanceClass = targetClass;
+        while (inheritanceClass != null) {
+            for (Field field : inheritanceClass.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    return field;
+                }
+            }
+            inheritanceClass = inheritanceClass.getSuperclass();
+        }
+        return null;
+    }
+
     public static String likeValue(String value) {
         return "%" + value.replace(ListingConfig.WILDCARD_MANY, "%").replace(ListingConfig.WILDCARD_ONE, "_").toLowerCase() + "%";
     }
@@ -104,12 +129,16 @@ public final class ListingUtil {
 
     public static Date parseDate(String dateString, boolean end) {
 
-        return Date.from(parseDateTime(dateString, end).atZone(ListingConfig.ZONE_ID).toInstant());
+        LocalDateTime dateTime = parseDateTime(dateString, end);
+        if (dateTime == null) {
+            return null;
+        }
+        return Date.from(dateTime.atZone(ListingConfig.ZONE_ID).toInstant());
     }
 
     public static LocalDateTime parseDateTime(String dateString, boolean end) {
         if (dateString != null) {
-            Matcher matcher = Pattern.compile(REGEX_DATE).matcher(dateString);
+            Matcher matcher = PATTERN_DATE.matcher(dateString);
             if (matcher.find()) {
                 if (matcher.group(5) != null) {
                     try {
@@ -159,27 +188,27 @@ public final class ListingUtil {
     }
 
     public static boolean validDate(String value) {
-        return matches(value, REGEX_DATE);
+        return PATTERN_DATE.matcher(value).matches();
     }
 
     public static boolean validLong(String value) {
-        return matches(value, REGEX_LONG);
+        return PATTERN_LONG.matcher(value).matches();
     }
 
     public static boolean validInt(String value) {
-        return matches(value, REGEX_INT);
+        return PATTERN_INT.matcher(value).matches();
     }
 
     public static boolean validShort(String value) {
-        return matches(value, REGEX_SHORT);
+        return PATTERN_SHORT.matcher(value).matches();
     }
 
     public static boolean validFloat(String value) {
-        return matches(value, REGEX_FLOAT);
+        return PATTERN_FLOAT.matcher(value).matches();
     }
 
     public static boolean validDouble(String value) {
-        return matches(value, REGEX_DOUBLE);
+        return PATTERN_DOUBLE.matcher(value).matches();
     }
 
     public static boolean matches(String value, String valueRegex) {
@@ -0,0 +1,86 @@
+package io.coodoo.framework.listing.control;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-JVM {@link ListingCache}, bounded in size by evicting the least recently used values
+ * 
+ * @author coodoo GmbH (coodoo.io)
+ */
+public class LocalListingCache implements ListingCache {
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * @param maxSize maximal count of cached values
+     */
+    public LocalListingCache(int maxSize) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Object get(Class<?> entityClass, String key) {
+
+        String cacheKey = entityClass.getName() + "\n" + key;
+        Entry entry = entries.get(cacheKey);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expires < System.currentTimeMillis()) {
+            entries.remove(cacheKey);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public synchronized void put(Class<?> entityClass, String key, Object value, long ttl) {
+        entries.put(entityClass.getName() + "\n" + key, new Entry(entityClass, value, System.currentTimeMillis() + ttl));
+    }
+
+    @Override
+    public synchronized void invalidate(Class<?> entityClass) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().entityClass == entityClass) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return count of cached values, including the expired ones not yet dropped
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+
+        private final Class<?> entityClass;
+        private final Object value;
+        private final long expires;
+
+        private Entry(Class<?> entityClass, Object value, long expires) {
+            this.entityClass = entityClass;
+            this.value = value;
+            this.expires = expires;
+        }
+    }
+
+}
@@ -288,4 +288,21 @@ public class ListingParametersTest {
         assertThat(result, equalTo(expected));
     }
 
+    @Test
+    public void testGetCountMode() throws Exception {
+
+        assertThat(classUnderTest.getCountMode(), is(CountMode.EXACT));
+
+        classUnderTest.setCount(" Capped(500) ");
+        assertThat(classUnderTest.getCountMode(), is(CountMode.CAPPED));
+        assertThat(classUnderTest.getCountCap(), is(500));
+
+        classUnderTest.setCount("NONE");
+        assertThat(classUnderTest.getCountMode(), is(CountMode.NONE));
+
+        // unknown values take the default instead of a mode they just start with
+        classUnderTest.setCount("nonexistent");
+        assertThat(classUnderTest.getCountMode(), is(CountMode.EXACT));
+    }
+
 }
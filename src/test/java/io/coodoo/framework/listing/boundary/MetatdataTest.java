@@ -28,6 +28,20 @@ public class MetatdataTest {
 
     }
 
+    @Test
+    public void testHugeCount() {
+
+        Long count = 100_000_000_000L;
+
+        Metadata metadata = new Metadata(count, 3, 10);
+
+        assertThat(metadata.getCount(), equalTo(count));
+        assertThat(metadata.getStartIndex(), equalTo(21));
+        assertThat(metadata.getEndIndex(), equalTo(30));
+        assertThat(metadata.getNumPages(), equalTo(Integer.MAX_VALUE));
+        assertThat(metadata.isExact(), equalTo(true));
+    }
+
     @Test
     public void testNullParameterLimit() {
 
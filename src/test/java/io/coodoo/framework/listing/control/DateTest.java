@@ -1,6 +1,7 @@
 package io.coodoo.framework.listing.control;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
@@ -8,9 +9,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.dbunit.DatabaseUnitException;
@@ -22,6 +26,7 @@ import org.junit.Test;
 
 import io.coodoo.framework.listing.boundary.Listing;
 import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.Stats;
 import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
 import io.coodoo.framework.listing.dbunit.model.TestDatesEntity;
 
@@ -49,6 +54,33 @@ public class DateTest extends AbstractDbUnitTest {
         assertEquals(1L, result.getId().longValue());
     }
 
+    @Test
+    public void testDateStats() throws ParseException {
+
+        parameters.addStatsAttributes("date1", "all");
+
+        Stats stats = Listing.getStats(entityManager, TestDatesEntity.class, parameters).get("date1");
+
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        assertEquals(1000L, stats.getCount().longValue());
+        assertEquals(format.parse("2003-12-31 23:59:59").getTime(), ((Date) stats.getMinDate()).getTime());
+        assertEquals(format.parse("2006-09-25 23:59:59").getTime(), ((Date) stats.getMaxDate()).getTime());
+        assertNull(stats.getAvg());
+        assertNull(stats.getSum());
+    }
+
+    @Test
+    public void testSqlDate() {
+
+        parameters.addFilterAttributes("sqlDate", "2004");
+
+        assertEquals(366L, Listing.countListing(entityManager, TestDatesEntity.class, parameters).longValue());
+
+        parameters.addFilterAttributes("sqlDate", "<01.01.2004");
+
+        assertEquals(1L, Listing.countListing(entityManager, TestDatesEntity.class, parameters).longValue());
+    }
+
     @Ignore
     @Test
     public void testLocalDateTimeDay() {
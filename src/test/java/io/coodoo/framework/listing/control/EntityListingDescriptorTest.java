@@ -0,0 +1,73 @@
+package io.coodoo.framework.listing.control;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class EntityListingDescriptorTest {
+
+    @Test
+    public void testOf_cached() {
+
+        EntityListingDescriptor descriptor = EntityListingDescriptor.of(TestNumbersEntity.class);
+
+        assertThat(EntityListingDescriptor.of(TestNumbersEntity.class), is(sameInstance(descriptor)));
+    }
+
+    @Test
+    public void testGetFields() {
+
+        EntityListingDescriptor descriptor = EntityListingDescriptor.of(TestNumbersEntity.class);
+
+        assertThat(descriptor.getFields().size(), equalTo(10));
+        assertThat(descriptor.getSearchableFields().size(), equalTo(9));
+        assertThat(descriptor.getField("id"), is(notNullValue()));
+        assertThat(descriptor.getSearchableField("id"), is(nullValue()));
+        assertThat(descriptor.getIdField().getName(), equalTo("id"));
+        assertThat(descriptor.getField("nope"), is(nullValue()));
+    }
+
+    @Test
+    public void testGetFieldType() {
+
+        EntityListingDescriptor descriptor = EntityListingDescriptor.of(TestNumbersEntity.class);
+
+        assertThat(descriptor.getField("longClass").getFieldType(), equalTo(FieldType.LONG));
+        assertThat(descriptor.getField("intPrimitive").getFieldType(), equalTo(FieldType.INTEGER));
+        assertThat(descriptor.getField("shortLike").getFieldType(), equalTo(FieldType.STRING));
+        assertThat(descriptor.getField("shortLike").getValueType(), equalTo(FieldType.SHORT));
+        assertThat(descriptor.getField("shortPrimitive").isNumber(), is(true));
+    }
+
+    @Test
+    public void testGetValue() {
+
+        TestNumbersEntity entity = new TestNumbersEntity();
+        entity.setId(83L);
+
+        assertThat(EntityListingDescriptor.of(TestNumbersEntity.class).getIdField().getValue(entity), equalTo(83L));
+    }
+
+    @Test
+    public void testGetTableName() {
+
+        assertThat(EntityListingDescriptor.of(TestNumbersEntity.class).getTableName(), equalTo("TEST_NUMBERS_ENTITY"));
+
+        // without @Table the persistence provider derives the name by its naming strategy
+        assertThat(EntityListingDescriptor.of(UnnamedTable.class).getTableName(), is(nullValue()));
+    }
+
+    private static class UnnamedTable {
+
+        @SuppressWarnings("unused")
+        private Long id;
+    }
+
+}
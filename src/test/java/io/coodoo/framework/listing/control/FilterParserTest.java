@@ -0,0 +1,139 @@
+package io.coodoo.framework.listing.control;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+import io.coodoo.framework.listing.control.FilterComparison.Operator;
+
+public class FilterParserTest {
+
+    @Test
+    public void testParse_cached() {
+
+        FilterNode filter = FilterParser.parse("a|b");
+
+        assertThat(FilterParser.parse("a|b"), is(sameInstance(filter)));
+    }
+
+    @Test
+    public void testParse_empty() {
+
+        assertThat(FilterParser.parse(null), is(nullValue()));
+        assertThat(FilterParser.parse(" "), is(nullValue()));
+        assertThat(FilterParser.parse("|"), is(nullValue()));
+        assertThat(FilterParser.parse("!"), is(nullValue()));
+    }
+
+    @Test
+    public void testParse_operators() {
+
+        assertThat(FilterParser.parse("foo").toString(), equalTo("foo"));
+        assertThat(FilterParser.parse(" foo bar ").toString(), equalTo("foo bar"));
+        assertThat(FilterParser.parse("a|b").toString(), equalTo("OR(a, b)"));
+        assertThat(FilterParser.parse("a OR b").toString(), equalTo("OR(a, b)"));
+        assertThat(FilterParser.parse("a & b").toString(), equalTo("AND(a, b)"));
+        assertThat(FilterParser.parse("a AND b").toString(), equalTo("AND(a, b)"));
+        assertThat(FilterParser.parse("!a").toString(), equalTo("NOT(a)"));
+        assertThat(FilterParser.parse("NOT a").toString(), equalTo("NOT(a)"));
+        assertThat(FilterParser.parse("NOT NULL").toString(), equalTo("NOT(NULL)"));
+        assertThat(FilterParser.parse("NOTHING").toString(), equalTo("NOTHING"));
+        assertThat(FilterParser.parse("ANDROID OR ORACLE").toString(), equalTo("OR(ANDROID, ORACLE)"));
+    }
+
+    @Test
+    public void testParse_precedence() {
+
+        // the OR binds tighter than the AND
+        assertThat(FilterParser.parse("a|b&c").toString(), equalTo("AND(OR(a, b), c)"));
+        assertThat(FilterParser.parse("!a|b AND c").toString(), equalTo("AND(OR(NOT(a), b), c)"));
+    }
+
+    @Test
+    public void testParse_groups() {
+
+        assertThat(FilterParser.parse("a|(b&c)").toString(), equalTo("OR(a, AND(b, c))"));
+        assertThat(FilterParser.parse("!(a|b) & c").toString(), equalTo("AND(NOT(OR(a, b)), c)"));
+        assertThat(FilterParser.parse("((a))").toString(), equalTo("a"));
+
+        // parentheses that don't form a group are part of the term
+        assertThat(FilterParser.parse("Foo (Bar)").toString(), equalTo("Foo (Bar)"));
+        assertThat(FilterParser.parse("(Foo) Bar").toString(), equalTo("(Foo) Bar"));
+        assertThat(FilterParser.parse("(a|b").toString(), equalTo("OR((a, b)"));
+    }
+
+    @Test
+    public void testParse_quotes() {
+
+        FilterNode filter = FilterParser.parse("\"a|b\" | c");
+
+        assertThat(filter.toString(), equalTo("OR(\"a|b\", c)"));
+        assertThat(filter.getChildren().get(0).getTerm().isQuoted(), is(true));
+        assertThat(filter.getChildren().get(0).getTerm().getUnquotedValue(), equalTo("a|b"));
+    }
+
+    @Test
+    public void testTerm() {
+
+        FilterTerm term = FilterParser.term("a|b");
+
+        assertThat(term.getValue(), equalTo("a|b"));
+        assertThat(FilterParser.term("a|b"), is(sameInstance(term)));
+    }
+
+    @Test
+    public void testComparison_string() {
+
+        assertThat(FilterParser.term("Foo*").getComparison(FieldType.STRING).toString(), equalTo("LIKE(%foo%%)"));
+        assertThat(FilterParser.term("\"Foo\"").getComparison(FieldType.STRING).toString(), equalTo("EQUAL(Foo)"));
+    }
+
+    @Test
+    public void testComparison_numbers() {
+
+        assertThat(FilterParser.term("42").getComparison(FieldType.LONG).getValue(), equalTo(42L));
+        assertThat(FilterParser.term("42").getComparison(FieldType.INTEGER).getValue(), equalTo(42));
+        assertThat(FilterParser.term("42").getComparison(FieldType.SHORT).getValue(), equalTo((short) 42));
+        assertThat(FilterParser.term("-1,5").getComparison(FieldType.DOUBLE).getValue(), equalTo(-1.5d));
+        assertThat(FilterParser.term(".5").getComparison(FieldType.FLOAT).getValue(), equalTo(0.5f));
+
+        assertThat(FilterParser.term("~42").getComparison(FieldType.INTEGER).toString(), equalTo("LIKE(%42%)"));
+        assertThat(FilterParser.term("< 42").getComparison(FieldType.INTEGER).toString(), equalTo("LESS_THAN(42)"));
+        assertThat(FilterParser.term("GT 42").getComparison(FieldType.INTEGER).toString(), equalTo("GREATER_THAN(42)"));
+        assertThat(FilterParser.term("-5--3").getComparison(FieldType.INTEGER).toString(), equalTo("BETWEEN(-5, -3)"));
+        assertThat(FilterParser.term("1 TO 3").getComparison(FieldType.LONG).toString(), equalTo("BETWEEN(1, 3)"));
+
+        assertThat(FilterParser.term("foo").getComparison(FieldType.LONG), is(nullValue()));
+        assertThat(FilterParser.term("99999").getComparison(FieldType.SHORT), is(nullValue()));
+        assertThat(FilterParser.term("99999999999").getComparison(FieldType.INTEGER), is(nullValue()));
+        assertThat(FilterParser.term("1.5").getComparison(FieldType.INTEGER), is(nullValue()));
+    }
+
+    @Test
+    public void testComparison_dates() {
+
+        FilterComparison comparison = FilterParser.term("2018").getComparison(FieldType.LOCAL_DATE_TIME);
+        assertThat(comparison.getOperator(), equalTo(Operator.BETWEEN));
+        assertThat(comparison.getValue().toString(), equalTo("2018-01-01T00:00"));
+        assertThat(comparison.getToValue().toString(), equalTo("2018-12-31T23:59:59"));
+
+        comparison = FilterParser.term("01.2018-03.2018").getComparison(FieldType.LOCAL_DATE_TIME);
+        assertThat(comparison.getValue().toString(), equalTo("2018-01-01T00:00"));
+        assertThat(comparison.getToValue().toString(), equalTo("2018-03-31T23:59:59"));
+
+        assertThat(FilterParser.term("<2018").getComparison(FieldType.DATE).getOperator(), equalTo(Operator.LESS_THAN));
+        assertThat(FilterParser.term("31.02.2018").getComparison(FieldType.DATE), is(nullValue()));
+    }
+
+    @Test
+    public void testComparison_boolean() {
+
+        assertThat(FilterParser.term("TRUE").getComparison(FieldType.BOOLEAN).getValue(), equalTo(true));
+        assertThat(FilterParser.term("nope").getComparison(FieldType.BOOLEAN), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,86 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingResult;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestEntity;
+
+public class JoinFetchTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "test-dataset.xml";
+        initEntityManager();
+    }
+
+    private Statistics statistics;
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+        parameters.addFilterAttributes("id", ">1");
+        entityManager.clear();
+        ListingResultCache.clear();
+
+        statistics = ((HibernateEntityManagerFactory) entityManagerFactory).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    public void testWithoutJoinFetch() {
+
+        List<TestEntity> results = Listing.getListing(entityManager, TestEntity.class, parameters);
+
+        assertEquals(4, results.size());
+        assertEquals("coodoo", results.get(0).getParent().getText());
+        // the parent needs a query of its own
+        assertEquals(2L, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testJoinFetch() {
+
+        parameters.setJoinFetch("parent, unknown");
+        parameters.setSortAttribute("-number");
+
+        ListingResult<TestEntity> result = Listing.getListingResult(entityManager, TestEntity.class, parameters);
+
+        assertEquals(4, result.getResults().size());
+        assertEquals(4L, result.getMetadata().getCount().longValue());
+        assertEquals(83L, result.getResults().get(0).getNumber().longValue());
+        for (TestEntity entity : result.getResults()) {
+            assertEquals("coodoo", entity.getParent().getText());
+        }
+        // the page and the count query
+        assertEquals(2L, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testJoinFetch_nested() {
+
+        List<TestEntity> results = new ListingQuery<>(entityManager, TestEntity.class).filterByAttributes(parameters.getFilterAttributes())
+                        .joinFetch("parent;parent.parent").list();
+
+        assertEquals(4, results.size());
+        assertEquals("coodoo", results.get(0).getParent().getText());
+        assertEquals(null, results.get(0).getParent().getParent());
+        assertEquals(1L, statistics.getPrepareStatementCount());
+    }
+
+}
@@ -0,0 +1,129 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.Stats;
+import io.coodoo.framework.listing.boundary.Term;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingAggregateTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "numbers-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testStats() {
+
+        parameters.addFilterAttributes("longClass", "<101");
+        parameters.addStatsAttributes("intPrimitive", "all");
+        parameters.addStatsAttributes("shortPrimitive", "max");
+        parameters.addStatsAttributes("longClass", "sum");
+
+        Map<String, Stats> stats = Listing.getStats(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(3, stats.size());
+        assertEquals(100L, stats.get("intPrimitive").getCount().longValue());
+        assertEquals(1, stats.get("intPrimitive").getMin().intValue());
+        assertEquals(100, stats.get("intPrimitive").getMax().intValue());
+        assertEquals(50.5, stats.get("intPrimitive").getAvg().doubleValue(), 0.001);
+        assertEquals(5050L, stats.get("intPrimitive").getSum().longValue());
+        assertEquals(100, stats.get("shortPrimitive").getMax().intValue());
+        assertNull(stats.get("shortPrimitive").getMin());
+        assertEquals(5050L, stats.get("longClass").getSum().longValue());
+        assertNull(stats.get("longClass").getCount());
+    }
+
+    @Test
+    public void testTerms() {
+
+        parameters.addFilterAttributes("longClass", "<11");
+        parameters.addTermsAttributes("intClass", "100");
+        parameters.addTermsAttributes("shortPrimitive", "3");
+
+        Map<String, List<Term>> combined = Listing.getTerms(entityManager, TestNumbersEntity.class, parameters);
+
+        int combinedLimit = ListingConfig.TERMS_COMBINED_LIMIT;
+        ListingConfig.TERMS_COMBINED_LIMIT = 5;
+        try {
+            Map<String, List<Term>> separate = Listing.getTerms(entityManager, TestNumbersEntity.class, parameters);
+
+            assertEquals(10, combined.get("intClass").size());
+            assertEquals(3, combined.get("shortPrimitive").size());
+            assertEquals(termValues(separate.get("intClass")), termValues(combined.get("intClass")));
+            assertEquals(3, separate.get("shortPrimitive").size());
+            assertEquals(1L, combined.get("shortPrimitive").get(0).getCount());
+        } finally {
+            ListingConfig.TERMS_COMBINED_LIMIT = combinedLimit;
+        }
+    }
+
+    @Test
+    public void testFacets() {
+
+        parameters.addFilterAttributes("intClass", "1|2|3");
+        parameters.addFilterAttributes("longClass", "<6");
+        parameters.addTermsAttributes("intClass", "100");
+        parameters.addTermsAttributes("longClass", "100");
+        parameters.addTermsAttributes("shortClass", "100");
+
+        Map<String, List<Term>> terms = Listing.getTerms(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(3, terms.get("intClass").size());
+        assertEquals(3, terms.get("longClass").size());
+
+        parameters.setFacets(true);
+        Map<String, List<Term>> combined = Listing.getTerms(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(5, combined.get("intClass").size());
+        assertEquals(3, combined.get("longClass").size());
+        assertEquals(3, combined.get("shortClass").size());
+        assertEquals(1L, combined.get("intClass").get(0).getCount());
+
+        int combinedLimit = ListingConfig.TERMS_COMBINED_LIMIT;
+        ListingConfig.TERMS_COMBINED_LIMIT = 1;
+        try {
+            Map<String, List<Term>> separate = Listing.getTerms(entityManager, TestNumbersEntity.class, parameters);
+
+            assertEquals(termValues(combined.get("intClass")), termValues(separate.get("intClass")));
+            assertEquals(termValues(combined.get("longClass")), termValues(separate.get("longClass")));
+            assertEquals(termValues(combined.get("shortClass")), termValues(separate.get("shortClass")));
+        } finally {
+            ListingConfig.TERMS_COMBINED_LIMIT = combinedLimit;
+        }
+    }
+
+    private static List<String> termValues(List<Term> terms) {
+        List<String> values = new ArrayList<>();
+        for (Term term : terms) {
+            values.add(term.getValueAsString());
+        }
+        Collections.sort(values);
+        return values;
+    }
+
+}
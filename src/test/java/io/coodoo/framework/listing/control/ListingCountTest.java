@@ -0,0 +1,274 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.CountMode;
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingResult;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingCountTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "numbers-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testCountWindowFunction() {
+
+        ListingConfig.COUNT_WINDOW_FUNCTION = "count_over";
+        try {
+            ListingQuery<TestNumbersEntity> listingQuery = new ListingQuery<>(entityManager, TestNumbersEntity.class).sort("id").countOver();
+
+            assertEquals(10, listingQuery.list(20, 10).size());
+            assertEquals(1000L, listingQuery.getTotalCount().longValue());
+
+            parameters.setLimit(10);
+            parameters.setPage(3);
+
+            ListingResult<TestNumbersEntity> result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+            assertEquals(10, result.getResults().size());
+            assertEquals(1000L, result.getMetadata().getCount().longValue());
+            assertEquals(21L, result.getResults().get(0).getId().longValue());
+        } finally {
+            ListingConfig.COUNT_WINDOW_FUNCTION = null;
+        }
+    }
+
+    @Test
+    public void testCountWindowFunction_emptyPage() {
+
+        ListingConfig.COUNT_WINDOW_FUNCTION = "count_over";
+        try {
+            parameters.setLimit(10);
+            parameters.addFilterAttributes("longClass", "5000");
+
+            ListingResult<TestNumbersEntity> result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+            // no row to read the count from, so it got counted
+            assertEquals(0, result.getResults().size());
+            assertEquals(0L, result.getMetadata().getCount().longValue());
+        } finally {
+            ListingConfig.COUNT_WINDOW_FUNCTION = null;
+        }
+    }
+
+    @Test
+    public void testCountWindowFunction_filtered() {
+
+        ListingConfig.COUNT_WINDOW_FUNCTION = "count_over";
+        Statistics statistics = ((HibernateEntityManagerFactory) entityManagerFactory).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            parameters.setLimit(10);
+            parameters.setPage(3);
+            parameters.addFilterAttributes("longClass", "<251");
+
+            ListingResult<TestNumbersEntity> result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+            // the count comes along with the page and covers just the filtered rows
+            assertEquals(1L, statistics.getPrepareStatementCount());
+            assertEquals(10, result.getResults().size());
+            assertEquals(250L, result.getMetadata().getCount().longValue());
+            assertEquals(21L, result.getResults().get(0).getId().longValue());
+
+            statistics.clear();
+            parameters.setPage(5000);
+            result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+            // the empty page, the count and the last page
+            assertEquals(3L, statistics.getPrepareStatementCount());
+            assertEquals(10, result.getResults().size());
+            assertEquals(250L, result.getResults().get(9).getId().longValue());
+            assertEquals(250L, result.getMetadata().getCount().longValue());
+            assertEquals(25, result.getMetadata().getCurrentPage().intValue());
+            assertEquals(5000, result.getMetadata().getRequestedPage().intValue());
+        } finally {
+            ListingConfig.COUNT_WINDOW_FUNCTION = null;
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    public void testCountMode_capped() {
+
+        parameters.setLimit(10);
+        parameters.setCount("capped(100)");
+
+        ListingResult<TestNumbersEntity> result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(100L, result.getMetadata().getCount().longValue());
+        assertEquals(false, result.getMetadata().isExact());
+        assertEquals(10, result.getMetadata().getNumPages().intValue());
+
+        parameters.setCountCap(1000);
+        result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(1000L, result.getMetadata().getCount().longValue());
+        assertEquals(true, result.getMetadata().isExact());
+    }
+
+    @Test
+    public void testCountMode_estimated() {
+
+        parameters.setLimit(10);
+        parameters.setCountMode(CountMode.ESTIMATED);
+
+        ListingConfig.COUNT_ESTIMATE_QUERY = "SELECT COUNT(*) * 1000 FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = ?1";
+        try {
+            ListingResult<TestNumbersEntity> result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+            assertEquals(1000L, result.getMetadata().getCount().longValue());
+            assertEquals(false, result.getMetadata().isExact());
+
+            // with a filter it gets capped
+            parameters.addFilterAttributes("longClass", "<500");
+            result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+            assertEquals(499L, result.getMetadata().getCount().longValue());
+            assertEquals(true, result.getMetadata().isExact());
+        } finally {
+            ListingConfig.COUNT_ESTIMATE_QUERY = null;
+        }
+    }
+
+    @Test
+    public void testCountMode_none() {
+
+        parameters.setLimit(10);
+        parameters.setCount("none");
+
+        ListingResult<TestNumbersEntity> result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(10, result.getResults().size());
+        assertNull(result.getMetadata().getCount());
+        assertEquals(false, result.getMetadata().isExact());
+        assertEquals(true, result.getMetadata().getHasNext());
+        assertEquals(false, result.getMetadata().getHasPrevious());
+
+        parameters.setPage(99);
+        result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(10, result.getResults().size());
+        assertEquals(true, result.getMetadata().getHasNext());
+        assertEquals(true, result.getMetadata().getHasPrevious());
+
+        parameters.setPage(100);
+        result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(10, result.getResults().size());
+        assertEquals(1000L, result.getResults().get(9).getId().longValue());
+        assertEquals(false, result.getMetadata().getHasNext());
+        assertNull(result.getMetadata().getNextCursor());
+
+        parameters.setPage(null);
+        parameters.setAfter(result.getMetadata().getPrevCursor());
+        result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(9, result.getResults().size());
+        assertEquals(false, result.getMetadata().getHasNext());
+    }
+
+    @Test
+    public void testPageBeyondLast() {
+
+        parameters.setLimit(10);
+        parameters.setPage(5000);
+
+        ListingResult<TestNumbersEntity> result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(10, result.getResults().size());
+        assertEquals(1000L, result.getResults().get(9).getId().longValue());
+        assertEquals(1000L, result.getMetadata().getCount().longValue());
+        assertEquals(100, result.getMetadata().getCurrentPage().intValue());
+        assertEquals(5000, result.getMetadata().getRequestedPage().intValue());
+        assertEquals(false, result.getMetadata().getHasNext());
+        // the last page is delivered without changing the parameters
+        assertEquals(5000, parameters.getPage().intValue());
+
+        parameters.setFilter("NOTHING TO FIND");
+        result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(0, result.getResults().size());
+        assertEquals(0L, result.getMetadata().getCount().longValue());
+        assertEquals(1, result.getMetadata().getCurrentPage().intValue());
+        assertEquals(5000, result.getMetadata().getRequestedPage().intValue());
+    }
+
+    @Test
+    public void testPageBeyondLast_empty() {
+
+        ListingConfig.CLAMP_PAGE = false;
+        try {
+            parameters.setLimit(10);
+            parameters.setPage(5000);
+
+            ListingResult<TestNumbersEntity> result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+            assertEquals(0, result.getResults().size());
+            assertEquals(1000L, result.getMetadata().getCount().longValue());
+            assertEquals(5000, result.getMetadata().getCurrentPage().intValue());
+            assertNull(result.getMetadata().getRequestedPage());
+            assertEquals(false, result.getMetadata().getHasNext());
+            assertEquals(true, result.getMetadata().getHasPrevious());
+        } finally {
+            ListingConfig.CLAMP_PAGE = true;
+        }
+    }
+
+    @Test
+    public void testPageBeyondLast_countMode() {
+
+        parameters.setLimit(10);
+        parameters.setPage(5000);
+        parameters.setCountMode(CountMode.NONE);
+
+        Statistics statistics = ((HibernateEntityManagerFactory) entityManagerFactory).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            ListingResult<TestNumbersEntity> result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+            // just the page query, no count to find the last page
+            assertEquals(1L, statistics.getPrepareStatementCount());
+            assertEquals(0, result.getResults().size());
+            assertEquals(5000, result.getMetadata().getCurrentPage().intValue());
+            assertNull(result.getMetadata().getRequestedPage());
+            assertEquals(false, result.getMetadata().getHasNext());
+
+            parameters.setCountCap(100);
+            result = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+            assertEquals(0, result.getResults().size());
+            assertEquals(100L, result.getMetadata().getCount().longValue());
+            assertEquals(false, result.getMetadata().isExact());
+            assertEquals(false, result.getMetadata().getHasNext());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+}
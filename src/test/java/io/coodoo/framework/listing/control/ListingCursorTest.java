@@ -0,0 +1,110 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingResult;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingCursorTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "numbers-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testCursorPagination() {
+
+        parameters.setLimit(10);
+        parameters.setSortAttribute("-intPrimitive");
+        parameters.addFilterAttributes("longClass", "<500");
+
+        ListingResult<TestNumbersEntity> firstPage = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(499L, firstPage.getResults().get(0).getId().longValue());
+        assertNull(firstPage.getMetadata().getPrevCursor());
+        assertNotNull(firstPage.getMetadata().getNextCursor());
+
+        parameters.setAfter(firstPage.getMetadata().getNextCursor());
+        ListingResult<TestNumbersEntity> secondPage = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(10, secondPage.getResults().size());
+        assertEquals(489L, secondPage.getResults().get(0).getId().longValue());
+        assertEquals(480L, secondPage.getResults().get(9).getId().longValue());
+
+        parameters.setAfter(null);
+        parameters.setBefore(secondPage.getMetadata().getPrevCursor());
+        List<TestNumbersEntity> backToFirstPage = Listing.getListing(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(firstPage.getResults(), backToFirstPage);
+    }
+
+    @Test
+    public void testCursorPagination_lastPage() {
+
+        parameters.setLimit(10);
+        parameters.setSortAttribute("intPrimitive");
+        parameters.setAfter(ListingSort.of(TestNumbersEntity.class, "intPrimitive").cursor(entityManager.find(TestNumbersEntity.class, 995L)));
+
+        ListingResult<TestNumbersEntity> lastPage = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(5, lastPage.getResults().size());
+        assertEquals(996L, lastPage.getResults().get(0).getId().longValue());
+        assertNull(lastPage.getMetadata().getNextCursor());
+        assertNotNull(lastPage.getMetadata().getPrevCursor());
+    }
+
+    @Test
+    public void testCursorPagination_nullableSort() {
+
+        parameters.setLimit(10);
+        parameters.setSortAttribute("intClass");
+
+        ListingResult<TestNumbersEntity> firstPage = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        // a cursor would skip the rows with a null value, so it gets paged by offset
+        assertEquals(true, firstPage.getMetadata().getHasNext());
+        assertNull(firstPage.getMetadata().getNextCursor());
+        assertNull(ListingSort.of(TestNumbersEntity.class, "intClass").cursor(firstPage.getResults().get(9)));
+
+        parameters.setAfter(ListingSort.of(TestNumbersEntity.class, "intPrimitive").cursor(firstPage.getResults().get(9)));
+        assertEquals(1L, Listing.getListing(entityManager, TestNumbersEntity.class, parameters).get(0).getId().longValue());
+
+        parameters.setAfter(null);
+        parameters.setPage(2);
+        assertEquals(11L, Listing.getListing(entityManager, TestNumbersEntity.class, parameters).get(0).getId().longValue());
+    }
+
+    @Test
+    public void testCursorPagination_invalidCursor() {
+
+        parameters.setLimit(10);
+        parameters.setAfter("no cursor at all");
+
+        List<TestNumbersEntity> result = Listing.getListing(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(1L, result.get(0).getId().longValue());
+    }
+
+}
@@ -0,0 +1,100 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.ExportFormat;
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestEntity;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingExportTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "numbers-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testExport_defaultColumns() throws IOException {
+
+        TestEntity parent = new TestEntity();
+        parent.setId(1L);
+        TestEntity entity = new TestEntity();
+        entity.setId(2L);
+        entity.setText("coo");
+        entity.setNumber(1L);
+        entity.setParent(parent);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        new ListingExporter(TestEntity.class, ExportFormat.CSV).write(Collections.singletonList(entity).iterator(), csv);
+
+        // the association is no column of its own
+        assertEquals("id,text,number\n2,coo,1\n", csv.toString("UTF-8"));
+    }
+
+    @Test
+    public void testExport() throws IOException {
+
+        parameters.addFilterAttributes("longClass", "<4");
+        parameters.setSortAttribute("-id");
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        Listing.export(entityManager, TestNumbersEntity.class, parameters, ExportFormat.CSV, "id", "intClass", "unknown").write(csv);
+
+        assertEquals("id,intClass\n3,3\n2,2\n1,1\n", csv.toString("UTF-8"));
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        Listing.export(entityManagerFactory, TestNumbersEntity.class, parameters, ExportFormat.NDJSON, "id", "shortPrimitive").write(ndjson);
+
+        assertEquals("{\"id\":3,\"shortPrimitive\":3}\n{\"id\":2,\"shortPrimitive\":2}\n{\"id\":1,\"shortPrimitive\":1}\n", ndjson.toString("UTF-8"));
+    }
+
+    @Test
+    public void testExport_nullableSort() throws IOException {
+
+        int batchSize = ListingConfig.STREAM_BATCH_SIZE;
+        ListingConfig.STREAM_BATCH_SIZE = 2;
+        execute("UPDATE TEST_NUMBERS_ENTITY SET LONG_CLASS = NULL WHERE ID IN (2, 3)");
+        try {
+            parameters.addFilterAttributes("intClass", "<6");
+            parameters.setSortAttribute("longClass");
+
+            ByteArrayOutputStream csv = new ByteArrayOutputStream();
+            Listing.export(entityManager, TestNumbersEntity.class, parameters, ExportFormat.CSV, "id", "longClass").write(csv);
+
+            // the first batch ends on a null value, still all the rows get exported
+            assertEquals("id,longClass\n2,\n3,\n1,1\n4,4\n5,5\n", csv.toString("UTF-8"));
+        } finally {
+            ListingConfig.STREAM_BATCH_SIZE = batchSize;
+            execute("UPDATE TEST_NUMBERS_ENTITY SET LONG_CLASS = ID WHERE ID IN (2, 3)");
+        }
+    }
+
+    private void execute(String sql) {
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery(sql).executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+}
@@ -0,0 +1,48 @@
+package io.coodoo.framework.listing.control;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingFilterTest {
+
+    @Test
+    public void testOf() {
+
+        Map<String, String> filterAttributes = new HashMap<>();
+        filterAttributes.put("longClass|intClass", "5 & 6");
+        filterAttributes.put("nope", "5");
+        filterAttributes.put("shortClass", " ");
+
+        ListingFilter listingFilter = ListingFilter.of(TestNumbersEntity.class, "7", filterAttributes, null);
+
+        assertThat(listingFilter.getGlobalFilter().toString(), equalTo("7"));
+        assertThat(listingFilter.isDisjunctive(), is(false));
+        assertThat(listingFilter.getClauses().size(), equalTo(1));
+        assertThat(listingFilter.getClauses().get(0).getFilter().toString(), equalTo("AND(5, 6)"));
+        assertThat(listingFilter.getClauses().get(0).getFields().size(), equalTo(2));
+    }
+
+    @Test
+    public void testOf_disjunctive() {
+
+        Map<String, String> filterAttributes = new HashMap<>();
+        filterAttributes.put(ListingConfig.FILTER_TYPE_DISJUNCTION, "whatever");
+        filterAttributes.put("longClass", "5");
+
+        ListingFilter listingFilter = ListingFilter.of(TestNumbersEntity.class, null, filterAttributes, null);
+
+        assertThat(listingFilter.getGlobalFilter(), is(nullValue()));
+        assertThat(listingFilter.isDisjunctive(), is(true));
+        assertThat(listingFilter.getClauses().size(), equalTo(1));
+    }
+
+}
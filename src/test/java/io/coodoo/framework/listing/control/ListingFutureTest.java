@@ -0,0 +1,75 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingResult;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingFutureTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "numbers-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testListingResultAsync() throws Exception {
+
+        parameters.setLimit(10);
+        parameters.setSortAttribute("-intClass");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ListingResult<TestNumbersEntity> result = Listing.getListingResultAsync(entityManagerFactory, TestNumbersEntity.class, parameters, executor)
+                            .toCompletableFuture().get();
+
+            assertEquals(1000L, result.getMetadata().getCount().longValue());
+            assertEquals(1000L, result.getResults().get(0).getId().longValue());
+            assertEquals(1000L, Listing.countListingAsync(entityManagerFactory, TestNumbersEntity.class, parameters, executor).get().longValue());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testListingResultAsync_cancel() {
+
+        final List<Runnable> tasks = new ArrayList<>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        };
+        ListingFuture<List<TestNumbersEntity>> future = Listing.getListingAsync(entityManagerFactory, TestNumbersEntity.class, parameters, executor);
+
+        assertEquals(true, future.cancel(true));
+        // a cancelled task doesn't query anymore
+        tasks.get(0).run();
+        assertEquals(true, future.isCancelled());
+    }
+
+}
@@ -0,0 +1,113 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.CountMode;
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingResult;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingParallelTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "numbers-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testParallelListingResult() {
+
+        parameters.setLimit(10);
+        parameters.setSortAttribute("-intPrimitive");
+        parameters.addFilterAttributes("longClass", "<500");
+        parameters.addTermsAttributes("shortClass", "3");
+        parameters.addStatsAttributes("intClass", "max");
+        parameters.addStatsAttributes("longClass", "count");
+
+        ListingResult<TestNumbersEntity> sequential = Listing.getListingResult(entityManager, TestNumbersEntity.class, parameters);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ListingResult<TestNumbersEntity> parallel = Listing.getListingResult(entityManagerFactory, TestNumbersEntity.class, parameters, executor);
+
+            assertEquals(sequential.getMetadata().getCount(), parallel.getMetadata().getCount());
+            assertEquals(sequential.getMetadata().getNextCursor(), parallel.getMetadata().getNextCursor());
+            assertEquals(10, parallel.getResults().size());
+            assertEquals(sequential.getResults().get(0).getId(), parallel.getResults().get(0).getId());
+            assertEquals(3, parallel.getTerms().get("shortClass").size());
+            assertEquals(499, parallel.getStats().get("intClass").getMax().intValue());
+            assertEquals(499L, parallel.getStats().get("longClass").getCount().longValue());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelListingResult_pageBeyondLast() {
+
+        parameters.setLimit(10);
+        parameters.setPage(5000);
+
+        Statistics statistics = ((HibernateEntityManagerFactory) entityManagerFactory).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ListingResult<TestNumbersEntity> result = Listing.getListingResult(entityManagerFactory, TestNumbersEntity.class, parameters, executor);
+
+            // the empty page, the count and the last page, without counting again
+            assertEquals(3L, statistics.getPrepareStatementCount());
+            assertEquals(10, result.getResults().size());
+            assertEquals(1000L, result.getResults().get(9).getId().longValue());
+            assertEquals(1000L, result.getMetadata().getCount().longValue());
+            assertEquals(100, result.getMetadata().getCurrentPage().intValue());
+            assertEquals(5000, result.getMetadata().getRequestedPage().intValue());
+            assertEquals(5000, parameters.getPage().intValue());
+
+            statistics.clear();
+            parameters.setPage(3);
+            parameters.setCountMode(CountMode.NONE);
+            result = Listing.getListingResult(entityManagerFactory, TestNumbersEntity.class, parameters, executor);
+
+            // no count query
+            assertEquals(1L, statistics.getPrepareStatementCount());
+            assertEquals(21L, result.getResults().get(0).getId().longValue());
+            assertEquals(true, result.getMetadata().getHasNext());
+
+            statistics.clear();
+            parameters.setCountMode(CountMode.EXACT);
+            ListingConfig.COUNT_WINDOW_FUNCTION = "count_over";
+            result = Listing.getListingResult(entityManagerFactory, TestNumbersEntity.class, parameters, executor);
+
+            // the count comes along with the page
+            assertEquals(1L, statistics.getPrepareStatementCount());
+            assertEquals(1000L, result.getMetadata().getCount().longValue());
+        } finally {
+            ListingConfig.COUNT_WINDOW_FUNCTION = null;
+            statistics.setStatisticsEnabled(false);
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestEntity;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingPrefetchTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "test-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters(1, 2, "id");
+        parameters.setReadOnly(true);
+
+        ListingConfig.PREFETCH = true;
+        ListingPrefetch.setExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+    }
+
+    @After
+    public void disablePrefetch() {
+        ListingConfig.PREFETCH = false;
+        ListingPrefetch.setExecutor(null);
+        ListingResultCache.clear();
+    }
+
+    @Test
+    public void testPrefetch() {
+
+        List<TestEntity> firstPage = Listing.getListing(entityManager, TestEntity.class, parameters);
+
+        assertEquals(1L, firstPage.get(0).getId().longValue());
+
+        ListingParameters next = new ListingParameters(2, 2, "id");
+        next.setReadOnly(true);
+        List<TestEntity> prefetched = ListingPrefetch.get(TestEntity.class, ListingPrefetch.key(TestEntity.class, next));
+
+        assertEquals(2, prefetched.size());
+        assertEquals(3L, prefetched.get(0).getId().longValue());
+
+        // every caller gets its own copy of the prefetched page
+        prefetched.clear();
+        List<TestEntity> secondPage = Listing.getListing(entityManager, TestEntity.class, next);
+
+        assertNotSame(prefetched, secondPage);
+        assertEquals(2, secondPage.size());
+        assertEquals(3L, secondPage.get(0).getId().longValue());
+        assertEquals(2, Listing.getListing(entityManager, TestEntity.class, next).size());
+    }
+
+    @Test
+    public void testPrefetch_notReadOnly() {
+
+        parameters.setReadOnly(false);
+        Listing.getListing(entityManager, TestEntity.class, parameters);
+
+        // the caller expects managed entities
+        assertNull(ListingPrefetch.key(TestEntity.class, parameters));
+
+        // read-only and writable listings don't share a key
+        ListingParameters readOnly = new ListingParameters(1, 2, "id");
+        readOnly.setReadOnly(true);
+        assertNotEquals(ListingResultCache.signature(readOnly), ListingResultCache.signature(parameters));
+    }
+
+    @Test
+    public void testPrefetch_notCacheable() {
+
+        // nothing would drop the prefetched page on changes
+        assertNull(ListingPrefetch.key(TestNumbersEntity.class, parameters));
+        assertNotNull(ListingPrefetch.key(TestEntity.class, parameters));
+    }
+
+}
@@ -0,0 +1,85 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingResult;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingProjectionTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "numbers-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testProjection() {
+
+        parameters.addFilterAttributes("longClass", "<11");
+        parameters.setSortAttribute("-id");
+        parameters.setLimit(3);
+        parameters.setFields("id, intClass, unknown");
+
+        ListingResult<Map<String, Object>> result = Listing.getProjectionResult(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(3, result.getResults().size());
+        assertEquals(10L, result.getMetadata().getCount().longValue());
+        assertEquals(2, result.getResults().get(0).size());
+        assertEquals(10L, ((Number) result.getResults().get(0).get("id")).longValue());
+        assertEquals(10, ((Number) result.getResults().get(0).get("intClass")).intValue());
+        assertNotNull(result.getMetadata().getNextCursor());
+
+        parameters.setAfter(result.getMetadata().getNextCursor());
+        parameters.setFields("id;intPrimitive");
+
+        List<NumbersDto> dtos = Listing.getProjection(entityManager, TestNumbersEntity.class, parameters, NumbersDto.class);
+
+        assertEquals(3, dtos.size());
+        assertEquals(7L, dtos.get(0).id.longValue());
+        assertEquals(7, dtos.get(0).number);
+
+        parameters.setAfter(null);
+        ListingConfig.COUNT_WINDOW_FUNCTION = "count_over";
+        try {
+            ListingResult<NumbersDto> counted = Listing.getProjectionResult(entityManager, TestNumbersEntity.class, parameters, NumbersDto.class);
+
+            assertEquals(3, counted.getResults().size());
+            assertEquals(10, counted.getResults().get(0).number);
+        } finally {
+            ListingConfig.COUNT_WINDOW_FUNCTION = null;
+        }
+    }
+
+    public static class NumbersDto {
+
+        private final Long id;
+        private final int number;
+
+        public NumbersDto(Long id, int number) {
+            this.id = id;
+            this.number = number;
+        }
+    }
+
+}
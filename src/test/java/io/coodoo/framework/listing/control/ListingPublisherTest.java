@@ -0,0 +1,108 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingPublisherTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "numbers-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testPublish() {
+
+        parameters.addFilterAttributes("longClass", "<251");
+        parameters.setSortAttribute("-intClass");
+
+        Executor direct = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        ListingPublisher<TestNumbersEntity> publisher = Listing.publish(entityManagerFactory, TestNumbersEntity.class, parameters, direct);
+
+        // takes 30 rows in steps of 10, then cancels
+        TestSubscriber partial = new TestSubscriber(10, 30);
+        publisher.subscribe(partial);
+
+        assertEquals(30, partial.items.size());
+        assertEquals(250L, partial.items.get(0).getId().longValue());
+        assertEquals(false, partial.completed);
+
+        TestSubscriber all = new TestSubscriber(Long.MAX_VALUE, Integer.MAX_VALUE);
+        publisher.subscribe(all);
+
+        assertEquals(250, all.items.size());
+        assertEquals(1L, all.items.get(249).getId().longValue());
+        assertEquals(true, all.completed);
+        assertNull(all.error);
+    }
+
+    private static class TestSubscriber implements ListingPublisher.Subscriber<TestNumbersEntity> {
+
+        private final long step;
+        private final int max;
+        private final List<TestNumbersEntity> items = new ArrayList<>();
+        private ListingPublisher.Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        private TestSubscriber(long step, int max) {
+            this.step = step;
+            this.max = max;
+        }
+
+        @Override
+        public void onSubscribe(ListingPublisher.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(step);
+        }
+
+        @Override
+        public void onNext(TestNumbersEntity item) {
+            items.add(item);
+            if (items.size() == max) {
+                subscription.cancel();
+            } else if (items.size() % step == 0) {
+                subscription.request(step);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingReadOnlyTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "numbers-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testReadOnly() {
+
+        parameters.setLimit(5);
+
+        List<TestNumbersEntity> results = Listing.getListing(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(false, entityManager.unwrap(Session.class).isReadOnly(results.get(0)));
+
+        entityManager.clear();
+        parameters.setReadOnly(true);
+        results = Listing.getListing(entityManager, TestNumbersEntity.class, parameters);
+
+        assertEquals(5, results.size());
+        assertEquals(true, entityManager.unwrap(Session.class).isReadOnly(results.get(0)));
+
+        ListingConfig.READ_ONLY_DETACH = true;
+        try {
+            results = Listing.getListing(entityManager, TestNumbersEntity.class, parameters);
+
+            assertEquals(5, results.size());
+            assertEquals(false, entityManager.contains(results.get(0)));
+        } finally {
+            ListingConfig.READ_ONLY_DETACH = false;
+            entityManager.clear();
+        }
+    }
+
+}
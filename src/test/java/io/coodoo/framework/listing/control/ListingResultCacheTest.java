@@ -0,0 +1,220 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingPredicate;
+import io.coodoo.framework.listing.boundary.ListingResult;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestEntity;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingResultCacheTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "test-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setReadOnly(true);
+        ListingResultCache.clear();
+    }
+
+    @Test
+    public void testKey() {
+
+        ListingParameters other = new ListingParameters(1, ListingConfig.DEFAULT_LIMIT, null);
+        other.setReadOnly(true);
+        parameters.addFilterAttributes("text", "coo");
+        parameters.addFilterAttributes("number", "1");
+        other.addFilterAttributes("number", "1");
+        other.addFilterAttributes("text", "coo");
+
+        assertEquals(ListingResultCache.key(TestEntity.class, parameters), ListingResultCache.key(TestEntity.class, other));
+
+        other.setSortAttribute("text");
+        assertNotEquals(ListingResultCache.key(TestEntity.class, parameters), ListingResultCache.key(TestEntity.class, other));
+
+        // not annotated
+        assertNull(ListingResultCache.key(TestNumbersEntity.class, parameters));
+
+        // not read-only
+        other.setReadOnly(false);
+        assertNull(ListingResultCache.key(TestEntity.class, other));
+
+        parameters.setPredicate(new ListingPredicate().filter("text", "coo"));
+        assertNull(ListingResultCache.key(TestEntity.class, parameters));
+    }
+
+    @Test
+    public void testCachedResult() {
+
+        ListingResult<TestEntity> result = Listing.getListingResult(entityManager, TestEntity.class, parameters);
+
+        assertEquals(5L, result.getMetadata().getCount().longValue());
+        // the cached entities are not managed by the entity manager of the first caller anymore
+        assertFalse(entityManager.contains(result.getResults().get(0)));
+
+        // changes on a result don't affect the cached one
+        result.getResults().clear();
+        result.getMetadata().setCount(0L);
+
+        ListingParameters same = new ListingParameters();
+        same.setReadOnly(true);
+        ListingResult<TestEntity> cached = Listing.getListingResult(entityManager, TestEntity.class, same);
+
+        assertNotSame(result, cached);
+        assertEquals(5L, cached.getMetadata().getCount().longValue());
+        assertEquals(5, cached.getResults().size());
+        assertNotSame(cached, Listing.getListingResult(entityManager, TestEntity.class, same));
+        // a cache hit returns detached entities, just like the call that filled the cache
+        assertFalse(entityManager.contains(cached.getResults().get(0)));
+    }
+
+    @Test
+    public void testCachedResult_termsAndStats() {
+
+        parameters.addTermsAttributes("text", "3");
+        parameters.addStatsAttributes("number", "max");
+
+        ListingResult<TestEntity> result = Listing.getListingResult(entityManager, TestEntity.class, parameters);
+        long termCount = result.getTerms().get("text").get(0).getCount();
+        Number max = result.getStats().get("number").getMax();
+
+        // changes on the terms and stats of a result don't affect the cached ones
+        result.getTerms().get("text").get(0).setCount(-1);
+        result.getStats().get("number").setMax(-1);
+
+        ListingResult<TestEntity> cached = Listing.getListingResult(entityManager, TestEntity.class, parameters);
+
+        assertEquals(termCount, cached.getTerms().get("text").get(0).getCount());
+        assertEquals(max, cached.getStats().get("number").getMax());
+    }
+
+    @Test
+    public void testNotReadOnlyResult() {
+
+        parameters.setReadOnly(false);
+        ListingResult<TestEntity> result = Listing.getListingResult(entityManager, TestEntity.class, parameters);
+
+        // managed entities don't get cached
+        assertTrue(entityManager.contains(result.getResults().get(0)));
+        assertEquals(0, ((LocalListingCache) ListingResultCache.getCache()).size());
+    }
+
+    @Test
+    public void testInvalidation() {
+
+        ListingResult<TestEntity> result = Listing.getListingResult(entityManager, TestEntity.class, parameters);
+
+        TestEntity entity = new TestEntity();
+        entity.setId(6L);
+        entity.setText("new");
+        entity.setNumber(6L);
+
+        entityManager.getTransaction().begin();
+        entityManager.persist(entity);
+        entityManager.getTransaction().commit();
+        try {
+            ListingResult<TestEntity> changed = Listing.getListingResult(entityManager, TestEntity.class, parameters);
+
+            assertNotSame(result, changed);
+            assertEquals(6L, changed.getMetadata().getCount().longValue());
+        } finally {
+            // the cached listing detached the entity
+            entityManager.getTransaction().begin();
+            entityManager.remove(entityManager.find(TestEntity.class, 6L));
+            entityManager.getTransaction().commit();
+        }
+        assertEquals(5L, Listing.getListingResult(entityManager, TestEntity.class, parameters).getMetadata().getCount().longValue());
+    }
+
+    @Test
+    public void testCountCache() {
+
+        ListingConfig.COUNT_CACHE_TTL = 60000;
+        try {
+            parameters.setLimit(2);
+            assertEquals(5L, Listing.getListingResult(entityManager, TestEntity.class, parameters).getMetadata().getCount().longValue());
+
+            // bypasses the entity listener
+            entityManager.getTransaction().begin();
+            entityManager.createNativeQuery("INSERT INTO TEST_ENTITY (ID, TEXT, NUMBER) VALUES (7, 'native', 7)").executeUpdate();
+            entityManager.getTransaction().commit();
+
+            parameters.setPage(2);
+            parameters.setSortAttribute("-number");
+            ListingResult<TestEntity> page = Listing.getListingResult(entityManager, TestEntity.class, parameters);
+
+            assertEquals(5L, page.getMetadata().getCount().longValue());
+            assertEquals(2, page.getResults().size());
+
+            ListingResultCache.clear();
+            assertEquals(6L, Listing.getListingResult(entityManager, TestEntity.class, parameters).getMetadata().getCount().longValue());
+        } finally {
+            ListingConfig.COUNT_CACHE_TTL = 0;
+            entityManager.getTransaction().begin();
+            entityManager.createNativeQuery("DELETE FROM TEST_ENTITY WHERE ID = 7").executeUpdate();
+            entityManager.getTransaction().commit();
+        }
+    }
+
+    @Test
+    public void testCountKey() {
+
+        ListingConfig.COUNT_CACHE_TTL = 60000;
+        try {
+            parameters.addFilterAttributes("text", "coo");
+            ListingParameters other = new ListingParameters(3, 2, "-number");
+            other.addFilterAttributes("text", "coo");
+
+            // sort and pagination don't matter
+            assertEquals(ListingResultCache.countKey(TestEntity.class, parameters), ListingResultCache.countKey(TestEntity.class, other));
+
+            // not annotated, so nothing would drop the count
+            assertNull(ListingResultCache.countKey(TestNumbersEntity.class, parameters));
+        } finally {
+            ListingConfig.COUNT_CACHE_TTL = 0;
+        }
+    }
+
+    @Test
+    public void testLocalListingCache() {
+
+        LocalListingCache cache = new LocalListingCache(2);
+        cache.put(TestEntity.class, "a", "A", 60000);
+        cache.put(TestEntity.class, "b", "B", 60000);
+        cache.get(TestEntity.class, "a");
+        cache.put(TestEntity.class, "c", "C", 60000);
+
+        // "b" was the least recently used
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.get(TestEntity.class, "a"));
+        assertNull(cache.get(TestEntity.class, "b"));
+
+        cache.put(TestEntity.class, "d", "D", -1);
+        assertNull(cache.get(TestEntity.class, "d"));
+
+        cache.invalidate(TestEntity.class);
+        assertEquals(0, cache.size());
+    }
+
+}
@@ -0,0 +1,172 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.boundary.ListingResult;
+import io.coodoo.framework.listing.boundary.Metadata;
+
+public class ListingSingleFlightTest {
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Before
+    public void enable() {
+        ListingConfig.SINGLE_FLIGHT = true;
+    }
+
+    @After
+    public void disable() {
+        ListingConfig.SINGLE_FLIGHT = false;
+    }
+
+    @Test
+    public void testConcurrentCallsShareOneRun() throws InterruptedException {
+
+        final ListingParameters parameters = new ListingParameters(1, 10, "name");
+        final Object[] waiterResult = new Object[1];
+
+        final Thread waiter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                waiterResult[0] = ListingSingleFlight.run("terms", String.class, new ListingParameters(1, 10, "name"), newResult());
+            }
+        });
+
+        Object result = ListingSingleFlight.run("terms", String.class, parameters, new Supplier<Object>() {
+            @Override
+            public Object get() {
+                runs.incrementAndGet();
+                waiter.start();
+                // the identical call waits for this one
+                while (waiter.getState() != Thread.State.WAITING) {
+                    Thread.yield();
+                }
+                return new ArrayList<>();
+            }
+        });
+        waiter.join();
+
+        assertEquals(1, runs.get());
+        assertSame(result, waiterResult[0]);
+    }
+
+    @Test
+    public void testSequentialCallsRunEach() {
+
+        ListingParameters parameters = new ListingParameters(1, 10, "name");
+
+        Object first = ListingSingleFlight.run("terms", String.class, parameters, newResult());
+        Object second = ListingSingleFlight.run("terms", String.class, parameters, newResult());
+
+        assertEquals(2, runs.get());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testDisabled() {
+
+        ListingConfig.SINGLE_FLIGHT = false;
+        ListingSingleFlight.run("terms", String.class, new ListingParameters(), newResult());
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testConcurrentResultsGetCopies() throws InterruptedException {
+
+        final ListingParameters parameters = new ListingParameters(1, 10, "name");
+        parameters.setReadOnly(true);
+        final List<ListingResult<String>> waiterResult = new ArrayList<>();
+        final AtomicInteger detached = new AtomicInteger();
+
+        final Thread waiter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                ListingParameters identical = new ListingParameters(1, 10, "name");
+                identical.setReadOnly(true);
+                waiterResult.add(ListingSingleFlight.runResult(String.class, identical, newListingResult(), newDetach(detached)));
+            }
+        });
+
+        ListingResult<String> result = ListingSingleFlight.runResult(String.class, parameters, new Supplier<ListingResult<String>>() {
+            @Override
+            public ListingResult<String> get() {
+                runs.incrementAndGet();
+                waiter.start();
+                // the identical call waits for this one
+                while (waiter.getState() != Thread.State.WAITING) {
+                    Thread.yield();
+                }
+                return new ListingResult<>(new ArrayList<>(Arrays.asList("a", "b")), new Metadata(2L, parameters));
+            }
+        }, newDetach(detached));
+        waiter.join();
+
+        assertEquals(1, runs.get());
+        // the entities got detached once, before they were shared
+        assertEquals(1, detached.get());
+        // the waiting caller gets its own copy
+        assertNotSame(result, waiterResult.get(0));
+        assertNotSame(result.getResults(), waiterResult.get(0).getResults());
+        assertEquals(result.getResults(), waiterResult.get(0).getResults());
+    }
+
+    @Test
+    public void testResultNotReadOnly() {
+
+        AtomicInteger detached = new AtomicInteger();
+        ListingParameters parameters = new ListingParameters(1, 10, "name");
+        parameters.setReadOnly(false);
+
+        ListingSingleFlight.runResult(String.class, parameters, newListingResult(), newDetach(detached));
+
+        // managed entities don't get shared, so they stay managed
+        assertEquals(1, runs.get());
+        assertEquals(0, detached.get());
+    }
+
+    private Supplier<ListingResult<String>> newListingResult() {
+        return new Supplier<ListingResult<String>>() {
+            @Override
+            public ListingResult<String> get() {
+                runs.incrementAndGet();
+                return new ListingResult<>(new ArrayList<String>(), new Metadata(0L, 1, 10));
+            }
+        };
+    }
+
+    private Consumer<List<String>> newDetach(final AtomicInteger detached) {
+        return new Consumer<List<String>>() {
+            @Override
+            public void accept(List<String> entities) {
+                detached.incrementAndGet();
+            }
+        };
+    }
+
+    private Supplier<Object> newResult() {
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                runs.incrementAndGet();
+                List<String> result = new ArrayList<>();
+                return result;
+            }
+        };
+    }
+
+}
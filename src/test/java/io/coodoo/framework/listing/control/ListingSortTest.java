@@ -0,0 +1,56 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import org.junit.Test;
+
+public class ListingSortTest {
+
+    @Test
+    public void testCursorValue_timestamp() throws Exception {
+
+        Timestamp timestamp = Timestamp.valueOf("2017-05-04 12:30:45.123456789");
+
+        Object value = ListingSort.decode(ListingSort.encode(timestamp), Date.class);
+
+        assertTrue(value instanceof Timestamp);
+        assertEquals(timestamp, value);
+        assertEquals(123456789, ((Timestamp) value).getNanos());
+        assertEquals(timestamp, ListingSort.decode(ListingSort.encode(timestamp), Timestamp.class));
+    }
+
+    @Test
+    public void testCursorValue_date() throws Exception {
+
+        Date date = new Date(1493894445123L);
+
+        assertEquals(date, ListingSort.decode(ListingSort.encode(date), Date.class));
+
+        java.sql.Date sqlDate = java.sql.Date.valueOf("2017-05-04");
+        Object value = ListingSort.decode(ListingSort.encode(sqlDate), java.sql.Date.class);
+
+        assertTrue(value instanceof java.sql.Date);
+        assertEquals(sqlDate, value);
+    }
+
+    @Test
+    public void testCursorValue_localDateTime() throws Exception {
+
+        LocalDateTime localDateTime = LocalDateTime.of(2017, 5, 4, 12, 30, 45, 123456789);
+
+        assertEquals(localDateTime, ListingSort.decode(ListingSort.encode(localDateTime), LocalDateTime.class));
+    }
+
+    @Test
+    public void testCursorValue_null() throws Exception {
+
+        assertNull(ListingSort.decode(ListingSort.encode(null), Date.class));
+    }
+
+}
@@ -0,0 +1,97 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestNumbersEntity;
+
+public class ListingStreamTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "numbers-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testStream() {
+
+        parameters.addFilterAttributes("longClass", "<251");
+        parameters.setSortAttribute("-intClass");
+
+        int batchSize = ListingConfig.STREAM_BATCH_SIZE;
+        ListingConfig.STREAM_BATCH_SIZE = 100;
+        try (Stream<TestNumbersEntity> stream = Listing.stream(entityManager, TestNumbersEntity.class, parameters)) {
+
+            List<TestNumbersEntity> results = new ArrayList<>();
+            Iterator<TestNumbersEntity> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                results.add(iterator.next());
+            }
+            assertEquals(250, results.size());
+            assertEquals(250L, results.get(0).getId().longValue());
+            assertEquals(1L, results.get(249).getId().longValue());
+            assertEquals(false, entityManager.contains(results.get(0)));
+        } finally {
+            ListingConfig.STREAM_BATCH_SIZE = batchSize;
+        }
+    }
+
+    @Test
+    public void testStream_nullableSort() {
+
+        int batchSize = ListingConfig.STREAM_BATCH_SIZE;
+        ListingConfig.STREAM_BATCH_SIZE = 2;
+        execute("UPDATE TEST_NUMBERS_ENTITY SET LONG_CLASS = NULL WHERE ID IN (5, 50, 150)");
+        try {
+            parameters.addFilterAttributes("intClass", "<201");
+
+            // null values first or last, neither a batch ending on a null value nor the rows after the last non-null value get lost
+            for (String sort : new String[] {"longClass", "-longClass"}) {
+                parameters.setSortAttribute(sort);
+                try (Stream<TestNumbersEntity> stream = Listing.stream(entityManager, TestNumbersEntity.class, parameters)) {
+
+                    Set<Long> ids = new HashSet<>();
+                    Iterator<TestNumbersEntity> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        ids.add(iterator.next().getId());
+                    }
+                    assertEquals(200, ids.size());
+                }
+            }
+        } finally {
+            ListingConfig.STREAM_BATCH_SIZE = batchSize;
+            execute("UPDATE TEST_NUMBERS_ENTITY SET LONG_CLASS = ID WHERE ID IN (5, 50, 150)");
+        }
+    }
+
+    private void execute(String sql) {
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery(sql).executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+}
@@ -0,0 +1,75 @@
+package io.coodoo.framework.listing.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+import org.dbunit.DatabaseUnitException;
+import org.hibernate.HibernateException;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.coodoo.framework.listing.boundary.Listing;
+import io.coodoo.framework.listing.boundary.ListingParameters;
+import io.coodoo.framework.listing.dbunit.AbstractDbUnitTest;
+import io.coodoo.framework.listing.dbunit.model.TestDatesEntity;
+
+public class ListingVersionTest extends AbstractDbUnitTest {
+
+    @BeforeClass
+    public static void initDB() throws HibernateException, DatabaseUnitException, SQLException {
+        datasetXml = "date-dataset.xml";
+        initEntityManager();
+    }
+
+    @Before
+    public void initFilterParams() {
+        parameters = new ListingParameters();
+        parameters.setLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testVersion() throws ParseException {
+
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        String version = Listing.getVersion(entityManager, TestDatesEntity.class, parameters);
+
+        // count, greatest id, sum of the ids and latest date1
+        assertEquals("1000-1000-500500-" + format.parse("2006-09-25 23:59:59").getTime(), version);
+        assertEquals(version, Listing.getVersion(entityManager, TestDatesEntity.class, parameters));
+
+        parameters.addFilterAttributes("id", "1");
+        assertNotEquals(version, Listing.getVersion(entityManager, TestDatesEntity.class, parameters));
+    }
+
+    @Test
+    public void testVersion_replacedRow() {
+
+        String version = Listing.getVersion(entityManager, TestDatesEntity.class, parameters);
+
+        // same count and same latest date1, just another row
+        execute("INSERT INTO TEST_DATES_ENTITY (ID, LOCAL_DATE_TIME1, LOCAL_DATE_TIME2, DATE1, DATE2, SQL_DATE) "
+                        + "SELECT 1001, LOCAL_DATE_TIME1, LOCAL_DATE_TIME2, DATE1, DATE2, SQL_DATE FROM TEST_DATES_ENTITY WHERE ID = 5");
+        execute("DELETE FROM TEST_DATES_ENTITY WHERE ID = 5");
+        try {
+            assertNotEquals(version, Listing.getVersion(entityManager, TestDatesEntity.class, parameters));
+        } finally {
+            execute("INSERT INTO TEST_DATES_ENTITY (ID, LOCAL_DATE_TIME1, LOCAL_DATE_TIME2, DATE1, DATE2, SQL_DATE) "
+                            + "SELECT 5, LOCAL_DATE_TIME1, LOCAL_DATE_TIME2, DATE1, DATE2, SQL_DATE FROM TEST_DATES_ENTITY WHERE ID = 1001");
+            execute("DELETE FROM TEST_DATES_ENTITY WHERE ID = 1001");
+        }
+        assertEquals(version, Listing.getVersion(entityManager, TestDatesEntity.class, parameters));
+    }
+
+    private void execute(String sql) {
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery(sql).executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+}
@@ -24,7 +24,7 @@ import io.coodoo.framework.listing.boundary.ListingParameters;
 
 public abstract class AbstractDbUnitTest {
 
-    private static EntityManagerFactory entityManagerFactory;
+    public static EntityManagerFactory entityManagerFactory;
     private static IDatabaseConnection connection;
     private static IDataSet dataset;
     public static EntityManager entityManager;
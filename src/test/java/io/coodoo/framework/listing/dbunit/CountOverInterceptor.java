@@ -0,0 +1,46 @@
+package io.coodoo.framework.listing.dbunit;
+
+import org.hibernate.EmptyInterceptor;
+
+/**
+ * Emulates <code>COUNT(*) OVER()</code> of single table queries for HSQLDB (see {@link TestDialect}): the table and the where clause of a query using
+ * <code>count_over</code> move into a common table expression, so the count covers exactly the filtered rows while the query reads its page from them.
+ * The bound parameters keep their order.
+ * 
+ * <pre>
+ * select t.ID, (select count(*) from filtered) from TABLE t where ... order by ... offset ? limit ?
+ * with filtered as (select t.* from TABLE t where ...) select t.ID, (select count(*) from filtered) from filtered t order by ... offset ? limit ?
+ * </pre>
+ */
+public class CountOverInterceptor extends EmptyInterceptor {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String FILTERED = "listing_filtered";
+
+    private static final String COUNT = "(select count(*) from " + FILTERED + ")";
+
+    @Override
+    public String onPrepareStatement(String sql) {
+
+        int count = sql.indexOf(COUNT);
+        if (count < 0) {
+            return sql;
+        }
+        int from = sql.indexOf(" from ", count + COUNT.length());
+        String table = sql.substring(from + " from ".length());
+
+        int end = table.length();
+        for (String clause : new String[] {" order by ", " offset ", " limit "}) {
+            int index = table.indexOf(clause);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        String alias = table.split(" ")[1];
+
+        return "with " + FILTERED + " as (select " + alias + ".* from " + table.substring(0, end) + ") " + sql.substring(0, from) + " from " + FILTERED
+                        + " " + alias + table.substring(end);
+    }
+
+}
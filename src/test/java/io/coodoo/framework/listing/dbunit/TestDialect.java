@@ -0,0 +1,18 @@
+package io.coodoo.framework.listing.dbunit;
+
+import org.hibernate.dialect.HSQLDialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * HSQLDB doesn't know window functions, so <code>count_over</code> is emulated by counting the rows of {@link CountOverInterceptor#FILTERED}, a common
+ * table expression the {@link CountOverInterceptor} builds from the filtered table of the query.
+ */
+public class TestDialect extends HSQLDialect {
+
+    public TestDialect() {
+        super();
+        registerFunction("count_over", new SQLFunctionTemplate(StandardBasicTypes.LONG, "(select count(*) from " + CountOverInterceptor.FILTERED + ")"));
+    }
+
+}
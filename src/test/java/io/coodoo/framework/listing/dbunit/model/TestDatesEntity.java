@@ -8,6 +8,8 @@ import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import io.coodoo.framework.listing.boundary.annotation.ListingVersion;
+
 @Entity
 @Table(name = "TEST_DATES_ENTITY")
 public class TestDatesEntity {
@@ -22,16 +24,20 @@ public class TestDatesEntity {
     @Column(name = "LOCAL_DATE_TIME2")
     private LocalDateTime localDateTime2;
 
+    @ListingVersion
     @Column(name = "DATE1")
     private Date date1;
 
     @Column(name = "DATE2")
     private Date date2;
 
+    @Column(name = "SQL_DATE")
+    private java.sql.Date sqlDate;
+
     @Override
     public String toString() {
         return "TestDatesEntity [id=" + id + ", localDateTime1=" + localDateTime1 + ", localDateTime2=" + localDateTime2 + ", date1=" + date1 + ", date2="
-                        + date2 + "]";
+                        + date2 + ", sqlDate=" + sqlDate + "]";
     }
 
     public Long getId() {
@@ -74,4 +80,12 @@ public class TestDatesEntity {
         this.date2 = date2;
     }
 
+    public java.sql.Date getSqlDate() {
+        return sqlDate;
+    }
+
+    public void setSqlDate(java.sql.Date sqlDate) {
+        this.sqlDate = sqlDate;
+    }
+
 }
@@ -2,11 +2,21 @@ package io.coodoo.framework.listing.dbunit.model;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.FetchType;
 import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
+import io.coodoo.framework.listing.boundary.ListingCacheListener;
+import io.coodoo.framework.listing.boundary.annotation.ListingCacheable;
+import io.coodoo.framework.listing.boundary.annotation.ListingFilterIgnore;
+
 @Entity
 @Table(name = "TEST_ENTITY")
+@ListingCacheable
+@EntityListeners(ListingCacheListener.class)
 public class TestEntity {
 
     @Id
@@ -19,6 +29,11 @@ public class TestEntity {
     @Column(name = "NUMBER")
     private Long number;
 
+    @ListingFilterIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "PARENT_ID")
+    private TestEntity parent;
+
     @Override
     public String toString() {
         return "TestEntity [id=" + id + ", text=" + text + ", number=" + number + "]";
@@ -48,4 +63,12 @@ public class TestEntity {
         this.number = number;
     }
 
+    public TestEntity getParent() {
+        return parent;
+    }
+
+    public void setParent(TestEntity parent) {
+        this.parent = parent;
+    }
+
 }